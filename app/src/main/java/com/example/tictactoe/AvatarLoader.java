@@ -0,0 +1,194 @@
+package com.example.tictactoe;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the player's avatar as a thumbnail the size it is shown at,
+ * decoded on a background thread and handed back on the main thread.
+ *
+ * The photo is read bounds first and decoded subsampled, so the full
+ * resolution image is never held in memory. Thumbnails are kept in an
+ * LRU cache sized from the heap, which shrinks or empties when the
+ * system asks for memory back, and saved as small JPEGs in the cache
+ * directory so later launches skip the photo entirely.
+ */
+final class AvatarLoader {
+
+    interface Callback {
+        // avatar is null if the photo is missing or cannot be decoded
+        void onAvatarLoaded(Bitmap avatar);
+    }
+
+    // Every screen shows the avatar at this size, so they share one thumbnail
+    static final int AVATAR_DP = 80;
+
+    private static final String CACHE_DIR = "avatars";
+    private static final int THUMBNAIL_QUALITY = 90;
+
+    // An eighth of the heap, in KiB
+    private static final LruCache<String, Bitmap> memory =
+            new LruCache<String, Bitmap>((int) (Runtime.getRuntime().maxMemory() / 1024 / 8)) {
+                @Override
+                protected int sizeOf(String key, Bitmap bitmap) {
+                    return bitmap.getAllocationByteCount() / 1024;
+                }
+            };
+    private static final Handler mainThread = new Handler(Looper.getMainLooper());
+    private static ExecutorService worker;
+
+    private AvatarLoader() {
+    }
+
+    // Calls back at once on a memory hit, otherwise after decoding in the background
+    static void load(Context context, String photoPath, Callback callback) {
+        Bitmap cached = memory.get(photoPath);
+        if (cached != null) {
+            callback.onAvatarLoaded(cached);
+            return;
+        }
+        Context appContext = context.getApplicationContext();
+        int sizePx = Math.round(AVATAR_DP * appContext.getResources().getDisplayMetrics().density);
+        worker(appContext).execute(() -> {
+            Bitmap avatar = loadThumbnail(appContext, photoPath, sizePx);
+            if (avatar != null) {
+                memory.put(photoPath, avatar);
+            }
+            mainThread.post(() -> callback.onAvatarLoaded(avatar));
+        });
+    }
+
+    private static synchronized ExecutorService worker(Context appContext) {
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "avatar-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            appContext.registerComponentCallbacks(new TrimCallbacks());
+        }
+        return worker;
+    }
+
+    private static Bitmap loadThumbnail(Context context, String photoPath, int sizePx) {
+        File dir = new File(context.getCacheDir(), CACHE_DIR);
+        File thumbnail = new File(dir, photoPath + "@" + sizePx + ".jpg");
+        if (thumbnail.exists()) {
+            Bitmap bitmap = BitmapFactory.decodeFile(thumbnail.getPath());
+            if (bitmap != null) {
+                return bitmap;
+            }
+        }
+
+        Bitmap bitmap = decodeSquare(new File(context.getFilesDir(), photoPath), sizePx);
+        if (bitmap != null) {
+            saveThumbnail(dir, thumbnail, bitmap);
+        }
+        return bitmap;
+    }
+
+    // Decodes the centre square of the image, scaled to sizePx on a side
+    private static Bitmap decodeSquare(File photo, int sizePx) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(photo.getPath(), options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+        options.inSampleSize = sampleSize(options.outWidth, options.outHeight, sizePx);
+        options.inJustDecodeBounds = false;
+        Bitmap sampled = BitmapFactory.decodeFile(photo.getPath(), options);
+        if (sampled == null) {
+            return null;
+        }
+        Bitmap square = scaleToSquare(sampled, sizePx);
+        if (square != sampled) {
+            sampled.recycle();
+        }
+        return square;
+    }
+
+    // Subsampling only halves, so finish with a filtered scale and crop as CENTER_CROP shows it.
+    // Images smaller than sizePx are cropped but not enlarged. The source is left to the caller.
+    static Bitmap scaleToSquare(Bitmap sampled, int sizePx) {
+        int shorter = Math.min(sampled.getWidth(), sampled.getHeight());
+        int side = Math.min(shorter, sizePx);
+        float scale = (float) side / shorter;
+        Bitmap scaled = Bitmap.createScaledBitmap(sampled,
+                Math.max(side, Math.round(sampled.getWidth() * scale)),
+                Math.max(side, Math.round(sampled.getHeight() * scale)), true);
+        Bitmap square = Bitmap.createBitmap(scaled,
+                (scaled.getWidth() - side) / 2, (scaled.getHeight() - side) / 2, side, side);
+        if (square != scaled && scaled != sampled) {
+            scaled.recycle();
+        }
+        return square;
+    }
+
+    // Largest power of two that keeps the shorter side at least sizePx
+    static int sampleSize(int width, int height, int sizePx) {
+        int shorter = Math.min(width, height);
+        int sample = 1;
+        while (shorter / (sample * 2) >= sizePx) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    // Only the current photo's thumbnail is kept; older ones are deleted
+    private static void saveThumbnail(File dir, File thumbnail, Bitmap bitmap) {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            return;
+        }
+        File[] old = dir.listFiles();
+        if (old != null) {
+            for (File file : old) {
+                file.delete();
+            }
+        }
+        File temp = new File(dir, thumbnail.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, THUMBNAIL_QUALITY, out);
+        } catch (IOException e) {
+            android.util.Log.w("AvatarLoader", "Could not cache avatar thumbnail", e);
+            temp.delete();
+            return;
+        }
+        // A torn write is never mistaken for a thumbnail
+        if (!temp.renameTo(thumbnail)) {
+            temp.delete();
+        }
+    }
+
+    private static final class TrimCallbacks implements ComponentCallbacks2 {
+        @Override
+        public void onTrimMemory(int level) {
+            // The thumbnail on disk reloads in milliseconds, so give memory back readily
+            if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+                memory.evictAll();
+            } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                memory.trimToSize(memory.maxSize() / 2);
+            }
+        }
+
+        @Override
+        public void onLowMemory() {
+            memory.evictAll();
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.tictactoe;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioAttributes;
+import android.media.AudioManager;
+import android.media.MediaPlayer;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import java.io.IOException;
+
+/**
+ * The background music, owned by the app rather than by a screen, so it
+ * plays on uninterrupted from one screen to the next. It plays while
+ * music is enabled in {@link SettingsStore}, some screen is visible and
+ * the app holds audio focus, and it fades in and out as any of those
+ * change; a transient focus loss that allows ducking only lowers it.
+ *
+ * The track is streamed from the APK by a MediaPlayer prepared
+ * asynchronously, so neither decoding nor the whole file ever sits on
+ * the main thread or in memory. Leaving the app pauses it where it is;
+ * turning music off releases the player. Main thread only.
+ */
+final class BackgroundMusic {
+
+    private static final float VOLUME = 0.3f;
+    private static final float DUCKED_VOLUME = 0.1f;
+    private static final long FADE_MILLIS = 600;
+    private static final long FADE_STEP_MILLIS = 30;
+
+    private static final Handler mainThread = new Handler(Looper.getMainLooper());
+
+    private static Context appContext;
+    private static AudioManager audioManager;
+    private static MediaPlayer player;
+    private static boolean prepared;
+
+    private static boolean enabled;
+    private static int startedScreens;
+    private static boolean hasFocus;
+    private static boolean ducked;
+
+    private static float volume;
+    private static float fadeTarget;
+
+    private BackgroundMusic() {
+    }
+
+    // Starts following the settings and the app's screens; safe to call repeatedly
+    static void init(Context context) {
+        if (appContext != null) return;
+        appContext = context.getApplicationContext();
+        audioManager = (AudioManager) appContext.getSystemService(Context.AUDIO_SERVICE);
+        ((Application) appContext).registerActivityLifecycleCallbacks(new ScreenCallbacks());
+        SettingsStore.subscribe(appContext, settings -> {
+            if (settings.musicEnabled == enabled) return;
+            enabled = settings.musicEnabled;
+            if (enabled && startedScreens > 0) {
+                requestFocus();
+            } else if (!enabled) {
+                abandonFocus();
+            }
+            refresh();
+        });
+    }
+
+    private static void onForeground() {
+        if (enabled) {
+            requestFocus();
+        }
+        refresh();
+    }
+
+    private static void onBackground() {
+        abandonFocus();
+        refresh();
+    }
+
+    private static void refresh() {
+        if (enabled && startedScreens > 0 && hasFocus) {
+            if (player == null) {
+                createPlayer(); // Fades in once prepared
+            } else if (prepared) {
+                if (!player.isPlaying()) {
+                    volume = 0f;
+                    player.setVolume(0f, 0f);
+                    player.start();
+                }
+                fadeTo(ducked ? DUCKED_VOLUME : VOLUME);
+            }
+        } else if (player != null) {
+            if (prepared && player.isPlaying()) {
+                fadeTo(0f); // Pauses, or releases if music is off, once silent
+            } else if (!enabled) {
+                releasePlayer();
+            }
+        }
+    }
+
+    private static void createPlayer() {
+        AssetFileDescriptor file = appContext.getResources().openRawResourceFd(R.raw.background_music);
+        if (file == null) {
+            android.util.Log.w("BackgroundMusic", "Background music is compressed in the APK and cannot be streamed");
+            return;
+        }
+        player = new MediaPlayer();
+        player.setAudioAttributes(new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_GAME)
+                .setContentType(AudioAttributes.CONTENT_TYPE_MUSIC)
+                .build());
+        player.setLooping(true);
+        player.setOnPreparedListener(preparedPlayer -> {
+            prepared = true;
+            refresh();
+        });
+        player.setOnErrorListener((failedPlayer, what, extra) -> {
+            android.util.Log.w("BackgroundMusic", "Playback failed: " + what + ", " + extra);
+            releasePlayer();
+            return true;
+        });
+        try {
+            player.setDataSource(file.getFileDescriptor(), file.getStartOffset(), file.getLength());
+            file.close();
+            player.prepareAsync();
+        } catch (IOException e) {
+            android.util.Log.w("BackgroundMusic", "Unable to load background music", e);
+            releasePlayer();
+        }
+    }
+
+    private static void releasePlayer() {
+        mainThread.removeCallbacks(fadeStep);
+        if (player != null) {
+            player.release();
+            player = null;
+        }
+        prepared = false;
+    }
+
+    private static void fadeTo(float target) {
+        fadeTarget = target;
+        mainThread.removeCallbacks(fadeStep);
+        mainThread.post(fadeStep);
+    }
+
+    private static final Runnable fadeStep = new Runnable() {
+        @Override
+        public void run() {
+            if (player == null) return;
+            float step = VOLUME * FADE_STEP_MILLIS / FADE_MILLIS;
+            volume = volume < fadeTarget ? Math.min(fadeTarget, volume + step) : Math.max(fadeTarget, volume - step);
+            player.setVolume(volume, volume);
+            if (volume != fadeTarget) {
+                mainThread.postDelayed(this, FADE_STEP_MILLIS);
+            } else if (volume == 0f) {
+                player.pause();
+                if (!enabled) {
+                    releasePlayer();
+                }
+            }
+        }
+    };
+
+    @SuppressWarnings("deprecation") // AudioFocusRequest needs API 26; minSdk is 21
+    private static void requestFocus() {
+        if (hasFocus) return;
+        hasFocus = audioManager.requestAudioFocus(focusListener, AudioManager.STREAM_MUSIC,
+                AudioManager.AUDIOFOCUS_GAIN) == AudioManager.AUDIOFOCUS_REQUEST_GRANTED;
+        ducked = false;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void abandonFocus() {
+        if (!hasFocus) return;
+        audioManager.abandonAudioFocus(focusListener);
+        hasFocus = false;
+    }
+
+    private static final AudioManager.OnAudioFocusChangeListener focusListener = change -> {
+        switch (change) {
+            case AudioManager.AUDIOFOCUS_GAIN:
+                hasFocus = true;
+                ducked = false;
+                break;
+            case AudioManager.AUDIOFOCUS_LOSS_TRANSIENT_CAN_DUCK:
+                ducked = true;
+                break;
+            case AudioManager.AUDIOFOCUS_LOSS_TRANSIENT:
+                // Focus comes back with AUDIOFOCUS_GAIN
+                hasFocus = false;
+                break;
+            case AudioManager.AUDIOFOCUS_LOSS:
+                // Another app took over; music returns when the app is next opened
+                abandonFocus();
+                break;
+            default:
+                return;
+        }
+        refresh();
+    };
+
+    // Counts visible screens; moving between them never drops the count to zero
+    private static final class ScreenCallbacks implements Application.ActivityLifecycleCallbacks {
+        @Override
+        public void onActivityStarted(Activity activity) {
+            if (startedScreens++ == 0) {
+                onForeground();
+            }
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+            // A screen restored before init() was never counted as started
+            if (startedScreens == 0) {
+                startedScreens = 1;
+                onForeground();
+            }
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+            if (startedScreens > 0 && --startedScreens == 0) {
+                onBackground();
+            }
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+        }
+    }
+}
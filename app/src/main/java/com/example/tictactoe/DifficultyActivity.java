@@ -1,15 +1,12 @@
 package com.example.tictactoe;
 
 import android.content.Intent;
-import android.media.SoundPool;
 import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.tictactoe.databinding.ActivityDifficultyBinding;
 
 public class DifficultyActivity extends AppCompatActivity {
     private ActivityDifficultyBinding binding;
-    private SoundPool soundPool;
-    private int clickSoundId;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -17,9 +14,8 @@ public class DifficultyActivity extends AppCompatActivity {
         binding = ActivityDifficultyBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        // Initialize sound pool
-        soundPool = new SoundPool.Builder().setMaxStreams(1).build();
-        clickSoundId = soundPool.load(this, R.raw.button_click, 1);
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
 
         // Easy Button
         binding.easyButton.setOnClickListener(v -> {
@@ -59,17 +55,12 @@ public class DifficultyActivity extends AppCompatActivity {
     }
 
     private void playClickSound() {
-        if (soundPool != null) {
-            soundPool.play(clickSoundId, 0.5f, 0.5f, 1, 0, 1.0f);
-        }
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
     }
 
     @Override
     protected void onDestroy() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
-        }
+        SoundEffects.release();
         super.onDestroy();
     }
 }
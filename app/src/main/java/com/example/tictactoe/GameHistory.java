@@ -0,0 +1,43 @@
+package com.example.tictactoe;
+
+import android.content.Context;
+import com.example.tictactoe.engine.GameJournal;
+import com.example.tictactoe.engine.GameRecord;
+import com.example.tictactoe.engine.Strategies;
+import java.io.File;
+
+/**
+ * The journal every 3x3 game is kept in, in app storage, shared by every
+ * screen for the life of the process. Writes happen on the journal's own
+ * thread, so recording a game never blocks the UI.
+ */
+final class GameHistory {
+
+    private static final String FILE_NAME = "games.journal";
+
+    private static GameJournal journal;
+
+    private GameHistory() {
+    }
+
+    static synchronized void record(Context context, GameRecord game) {
+        if (journal == null) {
+            journal = new GameJournal(new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+        }
+        if (journal.failure() != null) {
+            android.util.Log.w("GameHistory", "Game journal unavailable", journal.failure());
+            return;
+        }
+        journal.append(game);
+        // Games end seconds apart, so write each one through rather than risk losing it
+        journal.flush();
+    }
+
+    static int difficulty(String difficulty) {
+        switch (difficulty) {
+            case Strategies.EASY: return GameRecord.DIFFICULTY_EASY;
+            case Strategies.MEDIUM: return GameRecord.DIFFICULTY_MEDIUM;
+            default: return GameRecord.DIFFICULTY_HARD;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.tictactoe;
+
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.os.Handler;
+import android.util.TypedValue;
+import android.widget.Button;
+import android.widget.GridLayout;
+import androidx.appcompat.app.AppCompatActivity;
+import com.example.tictactoe.databinding.ActivityGridGameBinding;
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.EngineExecutor;
+import com.example.tictactoe.engine.FourByFourTablebase;
+import com.example.tictactoe.engine.GridBoard;
+import com.example.tictactoe.engine.MoveStrategy;
+import com.example.tictactoe.engine.Strategies;
+
+public class GridGameActivity extends AppCompatActivity {
+
+    private static final long COMPUTER_THINK_DELAY_MS = 500;
+
+    private ActivityGridGameBinding binding;
+    private GridBoard board;
+    private Button[] buttons;
+    private boolean xTurn = true;
+    private boolean gameOver = false;
+    private Theme theme = Theme.SEASCAPE;
+    private final SettingsStore.Listener settingsListener = settings -> applyTheme(settings.theme);
+    private String gameMode = "friend"; // "friend" or "computer"
+    private String difficulty = "hard"; // "easy", "medium", or "hard"
+    private Handler handler = new Handler();
+    private EngineExecutor engineExecutor;
+    private MoveStrategy<GridBoard> mctsStrategy;
+    private MoveStrategy<GridBoard> tablebaseStrategy; // Created once the table is ready
+    private boolean computerThinking = false;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityGridGameBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        int size = getIntent().getIntExtra("boardSize", 4);
+        int winLength = getIntent().getIntExtra("winLength", 4);
+        board = new GridBoard(size, winLength);
+        binding.ruleText.setText(size + "×" + size + " · " + winLength + " in a row");
+
+        gameMode = getIntent().getStringExtra("gameMode");
+        if (gameMode == null) {
+            gameMode = "friend";
+        }
+
+        difficulty = getIntent().getStringExtra("difficulty");
+        if (difficulty == null) {
+            difficulty = "hard";
+        }
+
+        if (gameMode.equals("computer")) {
+            engineExecutor = new EngineExecutor(handler::post);
+            mctsStrategy = MoveStrategies.registry().create(Strategies.MCTS, GridBoard.class);
+            if (usesTablebase()) {
+                TablebaseLoader.prepare(this);
+            }
+        }
+
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
+
+        buildGrid(size);
+
+        binding.resetButton.setOnClickListener(v -> {
+            playClickSound();
+            resetGame();
+        });
+        binding.backButton.setOnClickListener(v -> {
+            playClickSound();
+            finish();
+        });
+
+        // Applies the saved theme and the status now, and again whenever the theme changes
+        SettingsStore.subscribe(this, settingsListener);
+    }
+
+    private void buildGrid(int size) {
+        GridLayout grid = binding.grid;
+        grid.setColumnCount(size);
+        grid.setRowCount(size);
+
+        // Fit the whole board to the screen width, minus the layout padding
+        float density = getResources().getDisplayMetrics().density;
+        int available = getResources().getDisplayMetrics().widthPixels - (int) (48 * density);
+        int cellSize = available / size;
+        int margin = Math.max(1, cellSize / 24);
+
+        buttons = new Button[size * size];
+        for (int i = 0; i < buttons.length; i++) {
+            Button button = new Button(this);
+            button.setBackgroundColor(0xFFFFFFFF);
+            button.setTextColor(0xFF006994);
+            button.setTypeface(Typeface.DEFAULT_BOLD);
+            button.setTextSize(TypedValue.COMPLEX_UNIT_PX, cellSize * 0.5f);
+            button.setAllCaps(false);
+            button.setPadding(0, 0, 0, 0);
+            button.setMinWidth(0);
+            button.setMinimumWidth(0);
+            button.setMinHeight(0);
+            button.setMinimumHeight(0);
+
+            GridLayout.LayoutParams params = new GridLayout.LayoutParams();
+            params.width = cellSize - 2 * margin;
+            params.height = cellSize - 2 * margin;
+            params.setMargins(margin, margin, margin, margin);
+            grid.addView(button, params);
+
+            int finalI = i;
+            button.setOnClickListener(v -> onCellClicked(finalI));
+            buttons[i] = button;
+        }
+    }
+
+    private void onCellClicked(int index) {
+        if (gameOver || computerThinking) return;
+        if (!board.isEmpty(index)) return;
+
+        board.place(index, xTurn ? Board.PLAYER_ONE : Board.PLAYER_TWO);
+        buttons[index].setText(xTurn ? theme.playerOneSymbol : theme.playerTwoSymbol);
+
+        if (checkGameOver()) return;
+
+        xTurn = !xTurn;
+        updateStatus();
+
+        if (gameMode.equals("computer")) {
+            computerThinking = true;
+            GridBoard snapshot = board.copy();
+            if (tablebaseStrategy == null && usesTablebase() && TablebaseLoader.get() != null) {
+                tablebaseStrategy = MoveStrategies.registry().create(Strategies.TABLEBASE_4X4, GridBoard.class);
+            }
+            // Computer's turn: perfect play from the solved table when there is one, otherwise
+            // MCTS on a snapshot, off the main thread
+            MoveStrategy<GridBoard> strategy = tablebaseStrategy != null ? tablebaseStrategy : mctsStrategy;
+            long deadlineNanos = System.nanoTime() + getThinkBudgetMillis() * 1_000_000L;
+            engineExecutor.submit(() -> strategy.chooseMove(snapshot, Board.PLAYER_TWO, deadlineNanos),
+                    COMPUTER_THINK_DELAY_MS, this::applyComputerMove);
+        }
+    }
+
+    private void applyComputerMove(int move) {
+        computerThinking = false;
+        if (gameOver || move == -1) return;
+
+        board.place(move, Board.PLAYER_TWO);
+        buttons[move].setText(theme.playerTwoSymbol);
+
+        if (checkGameOver()) return;
+
+        xTurn = true;
+        updateStatus();
+    }
+
+    private boolean checkGameOver() {
+        // Only the lines through the last move are checked
+        int winner = board.winner();
+        if (winner != 0) {
+            endGame(winner == 1 ? theme.playerOneSymbol + " Wins!" : theme.playerTwoSymbol + " Wins!");
+            return true;
+        }
+
+        if (board.isFull()) {
+            endGame("Draw!");
+            return true;
+        }
+        return false;
+    }
+
+    // Hard 4x4 four in a row is solved; until the table is ready MCTS plays instead
+    private boolean usesTablebase() {
+        return difficulty.equals("hard") && board.size() == FourByFourTablebase.SIZE
+                && board.winLength() == FourByFourTablebase.SIZE;
+    }
+
+    // Wall-clock budget per computer move, scaled by difficulty
+    private long getThinkBudgetMillis() {
+        switch (difficulty) {
+            case "easy": return 150;
+            case "medium": return 500;
+            default: return 1500;
+        }
+    }
+
+    private void endGame(String message) {
+        gameOver = true;
+        binding.statusText.setText(message);
+        binding.confettiView.setVisibility(android.view.View.VISIBLE);
+        binding.confettiView.startConfetti();
+    }
+
+    private void resetGame() {
+        if (engineExecutor != null) {
+            engineExecutor.cancel();
+        }
+        computerThinking = false;
+        board.clear();
+        for (Button button : buttons) {
+            button.setText("");
+        }
+        xTurn = true;
+        gameOver = false;
+        binding.confettiView.stopConfetti();
+        binding.confettiView.setVisibility(android.view.View.GONE);
+        updateStatus();
+    }
+
+    private void updateStatus() {
+        if (gameMode.equals("computer")) {
+            binding.statusText.setText(xTurn ? "Your turn (" + theme.playerOneSymbol + ")" : "Computer (" + theme.playerTwoSymbol + ")");
+        } else {
+            binding.statusText.setText(xTurn ? theme.playerOneSymbol + "'s turn" : theme.playerTwoSymbol + "'s turn");
+        }
+    }
+
+    private void playClickSound() {
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
+    }
+
+    // Restyles the screen, including marks already on the board
+    private void applyTheme(Theme newTheme) {
+        theme = newTheme;
+        binding.getRoot().setBackgroundResource(theme.backgroundRes);
+        for (int cell = 0; cell < board.cellCount(); cell++) {
+            buttons[cell].setText(theme.symbol(board.get(cell)));
+        }
+        if (!gameOver) {
+            updateStatus();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        SettingsStore.unsubscribe(settingsListener);
+        if (engineExecutor != null) {
+            engineExecutor.shutdown();
+            mctsStrategy.shutdown();
+            MoveStrategies.logMetrics("GridGameActivity");
+        }
+        SoundEffects.release();
+        super.onDestroy();
+    }
+}
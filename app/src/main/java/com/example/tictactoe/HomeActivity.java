@@ -3,9 +3,6 @@ package com.example.tictactoe;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.media.SoundPool;
-import android.media.MediaPlayer;
 import android.os.Bundle;
 import android.util.TypedValue;
 import android.app.AlertDialog;
@@ -19,18 +16,13 @@ import android.widget.TextView;
 import android.widget.Switch;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.tictactoe.databinding.ActivityHomeBinding;
-import java.io.File;
-import java.io.FileInputStream;
 import java.util.UUID;
 
 public class HomeActivity extends AppCompatActivity {
     private ActivityHomeBinding binding;
-    private SoundPool soundPool;
-    private int clickSoundId;
     private TextView welcomeText;
     private ImageView profileImage;
-    private MediaPlayer backgroundMusicPlayer;
-    private boolean isMusicPlaying = false;
+    private final SettingsStore.Listener settingsListener = this::applySettings;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -38,16 +30,15 @@ public class HomeActivity extends AppCompatActivity {
         binding = ActivityHomeBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        // Initialize sound pool
-        soundPool = new SoundPool.Builder().setMaxStreams(1).build();
-        clickSoundId = soundPool.load(this, R.raw.button_click, 1);
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
 
-        // Apply saved background theme and load player profile
-        applySavedBackground();
         loadPlayerProfile();
-        
-        // Start background music if enabled
-        startBackgroundMusic();
+
+        // Applies the saved theme, now and on every change
+        SettingsStore.subscribe(this, settingsListener);
+        // Plays while music is enabled, across every screen
+        BackgroundMusic.init(this);
 
         // Play with Friend Button
         binding.friendButton.setOnClickListener(v -> {
@@ -71,6 +62,18 @@ public class HomeActivity extends AppCompatActivity {
             startActivity(intent);
         });
 
+        // Big Board Button
+        binding.bigBoardButton.setOnClickListener(v -> {
+            playClickSound();
+            showBigBoardOptions();
+        });
+
+        // Ultimate Button
+        binding.ultimateButton.setOnClickListener(v -> {
+            playClickSound();
+            showOpponentOptions(new Intent(HomeActivity.this, UltimateGameActivity.class));
+        });
+
         // Settings Button
         binding.settingsButton.setOnClickListener(v -> {
             playClickSound();
@@ -78,6 +81,59 @@ public class HomeActivity extends AppCompatActivity {
         });
     }
 
+    private void showBigBoardOptions() {
+        AlertDialog.Builder builder = new AlertDialog.Builder(this);
+        builder.setTitle("Choose Board");
+
+        String[] boards = {
+            "4×4 · 4 in a row",
+            "5×5 · 4 in a row",
+            "7×7 · 5 in a row",
+            "15×15 · 5 in a row",
+            "19×19 · 5 in a row",
+            "4×4×4 cube · 4 in a row"
+        };
+        int[] sizes = {4, 5, 7, 15, 19};
+        int[] winLengths = {4, 4, 5, 5, 5};
+
+        builder.setItems(boards, (dialog, which) -> {
+            playClickSound();
+            if (which == sizes.length) {
+                // The 3D cube has its own screen
+                showOpponentOptions(new Intent(HomeActivity.this, QubicGameActivity.class));
+                return;
+            }
+            Intent intent = new Intent(HomeActivity.this, GridGameActivity.class);
+            intent.putExtra("boardSize", sizes[which]);
+            intent.putExtra("winLength", winLengths[which]);
+            showOpponentOptions(intent);
+        });
+
+        builder.setNegativeButton("Cancel", null);
+        builder.show();
+    }
+
+    // Adds the chosen gameMode and difficulty to intent, then starts it
+    private void showOpponentOptions(Intent intent) {
+        AlertDialog.Builder builder = new AlertDialog.Builder(this);
+        builder.setTitle("Choose Opponent");
+
+        String[] opponents = {"Play with Friend", "Computer · Easy", "Computer · Medium", "Computer · Hard"};
+        String[] difficulties = {null, "easy", "medium", "hard"};
+
+        builder.setItems(opponents, (dialog, which) -> {
+            playClickSound();
+            intent.putExtra("gameMode", which == 0 ? "friend" : "computer");
+            if (difficulties[which] != null) {
+                intent.putExtra("difficulty", difficulties[which]);
+            }
+            startActivity(intent);
+        });
+
+        builder.setNegativeButton("Cancel", null);
+        builder.show();
+    }
+
     private void loadPlayerProfile() {
         SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
         String playerName = prefs.getString("playerName", "");
@@ -105,37 +161,31 @@ public class HomeActivity extends AppCompatActivity {
             welcomeText.setLayoutParams(params);
         }
         
-        // Load and display profile image if exists
+        // Load and display profile image if exists, decoded off the main thread
         if (!photoPath.isEmpty()) {
-            try {
-                File file = new File(getFilesDir(), photoPath);
-                if (file.exists()) {
-                    FileInputStream fis = new FileInputStream(file);
-                    Bitmap bitmap = BitmapFactory.decodeStream(fis);
-                    
-                    profileImage = new ImageView(this);
-                    profileImage.setImageBitmap(bitmap);
-                    profileImage.setScaleType(ImageView.ScaleType.CENTER_CROP);
-                    
-                    // Set size and style for profile image
-                    int size = (int) (80 * getResources().getDisplayMetrics().density);
-                    FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(size, size);
-                    params.setMargins(16, 16, 16, 0);
-                    params.gravity = android.view.Gravity.TOP | android.view.Gravity.CENTER_HORIZONTAL;
-                    profileImage.setLayoutParams(params);
-                    profileImage.setElevation(8);
-                    profileImage.setBackgroundResource(android.R.drawable.dialog_frame);
-                    
-                    ((FrameLayout) binding.getRoot()).addView(profileImage);
-                    
-                    fis.close();
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            AvatarLoader.load(this, photoPath, this::showProfileImage);
         }
     }
 
+    private void showProfileImage(Bitmap avatar) {
+        if (avatar == null || isDestroyed()) return;
+
+        profileImage = new ImageView(this);
+        profileImage.setImageBitmap(avatar);
+        profileImage.setScaleType(ImageView.ScaleType.CENTER_CROP);
+
+        // Set size and style for profile image
+        int size = (int) (AvatarLoader.AVATAR_DP * getResources().getDisplayMetrics().density);
+        FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(size, size);
+        params.setMargins(16, 16, 16, 0);
+        params.gravity = android.view.Gravity.TOP | android.view.Gravity.CENTER_HORIZONTAL;
+        profileImage.setLayoutParams(params);
+        profileImage.setElevation(8);
+        profileImage.setBackgroundResource(android.R.drawable.dialog_frame);
+
+        ((FrameLayout) binding.getRoot()).addView(profileImage);
+    }
+
     private void showSettingsMenu() {
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         LayoutInflater inflater = getLayoutInflater();
@@ -200,183 +250,50 @@ public class HomeActivity extends AppCompatActivity {
         builder.setSingleChoiceItems(themes, -1, null);
         builder.setPositiveButton("Apply Theme", (dialog, which) -> {
             int selectedPosition = ((android.widget.ListView) ((android.app.AlertDialog) dialog).getListView()).getCheckedItemPosition();
-            String selectedTheme = getThemeValue(selectedPosition);
-            applyCompleteTheme(selectedTheme);
+            applyCompleteTheme(selectedPosition >= 0 ? Theme.ALL[selectedPosition] : Theme.SEASCAPE);
         });
 
         builder.setNegativeButton("Cancel", null);
         builder.show();
     }
 
-    private String getThemeValue(int position) {
-        switch (position) {
-            case 0: return "seascape";
-            case 1: return "forest";
-            case 2: return "desert";
-            case 3: return "space";
-            case 4: return "sunset";
-            case 5: return "ocean";
-            default: return "seascape";
-        }
-    }
+    private void applyCompleteTheme(Theme theme) {
+        // Every subscribed screen, this one included, restyles at once
+        SettingsStore.setTheme(this, theme);
 
-    private void applyCompleteTheme(String theme) {
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        
-        // Apply complete theme package
-        switch (theme) {
-            case "seascape":
-                editor.putString("backgroundTheme", "seascape");
-                editor.putString("symbolSet", "classic");
-                editor.putString("themeColors", "ocean");
-                break;
-            case "forest":
-                editor.putString("backgroundTheme", "forest");
-                editor.putString("symbolSet", "animals");
-                editor.putString("themeColors", "forest");
-                break;
-            case "desert":
-                editor.putString("backgroundTheme", "desert");
-                editor.putString("symbolSet", "sports");
-                editor.putString("themeColors", "desert");
-                break;
-            case "space":
-                editor.putString("backgroundTheme", "space");
-                editor.putString("symbolSet", "letters");
-                editor.putString("themeColors", "space");
-                break;
-            case "sunset":
-                editor.putString("backgroundTheme", "sunset");
-                editor.putString("symbolSet", "hearts");
-                editor.putString("themeColors", "sunset");
-                break;
-            case "ocean":
-                editor.putString("backgroundTheme", "ocean");
-                editor.putString("symbolSet", "numbers");
-                editor.putString("themeColors", "ocean");
-                break;
-        }
-        
-        editor.putString("gameLayout", theme); // Keep backward compatibility
-        editor.apply();
-        
-        // Apply immediately
-        updateHomeBackground(theme);
-        updateHomeThemeColors(theme);
-        
         // Show confirmation
         showThemeConfirmation(theme);
     }
 
-    private void showThemeConfirmation(String theme) {
-        String themeName = getThemeDisplayName(theme);
-        String[] symbols = getCurrentThemeSymbols(theme);
-        
+    private void showThemeConfirmation(Theme theme) {
+        String themeName = theme.displayName;
+
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         builder.setTitle("Theme Applied!");
         builder.setMessage("Your " + themeName + " theme has been applied!\n\n" +
                 "Background: " + themeName + "\n" +
-                "Symbols: " + symbols[0] + " " + symbols[1] + "\n\n" +
-                "Changes will take effect in your next game.");
+                "Symbols: " + theme.playerOneSymbol + " " + theme.playerTwoSymbol + "\n\n" +
+                "Games in progress switch over right away.");
         builder.setPositiveButton("Awesome!", null);
         builder.show();
     }
 
-    private String getThemeDisplayName(String theme) {
-        switch (theme) {
-            case "seascape": return "Seascape";
-            case "forest": return "Forest";
-            case "desert": return "Desert";
-            case "space": return "Space";
-            case "sunset": return "Sunset";
-            case "ocean": return "Ocean";
-            default: return theme;
-        }
+    private void applySettings(SettingsStore.Settings settings) {
+        updateHomeBackground(settings.theme);
+        updateHomeThemeColors(settings.theme);
     }
 
-    private String[] getCurrentThemeSymbols(String theme) {
-        switch (theme) {
-            case "seascape": return new String[]{"★", "✿"};
-            case "forest": return new String[]{"🐱", "🐶"};
-            case "desert": return new String[]{"⚽", "🏀"};
-            case "space": return new String[]{"X", "O"};
-            case "sunset": return new String[]{"♥", "♠"};
-            case "ocean": return new String[]{"1", "2"};
-            default: return new String[]{"★", "✿"};
-        }
-    }
-
-    private void updateHomeThemeColors(String theme) {
+    private void updateHomeThemeColors(Theme theme) {
         // Update button colors based on theme
-        int buttonColor = getThemeButtonColor(theme);
-        
-        if (binding.friendButton != null) {
-            binding.friendButton.setBackgroundColor(buttonColor);
-        }
-        if (binding.computerButton != null) {
-            binding.computerButton.setBackgroundColor(buttonColor);
-        }
-        if (binding.longModeButton != null) {
-            binding.longModeButton.setBackgroundColor(getThemeSecondaryButtonColor(theme));
-        }
-    }
-
-    private int getThemeButtonColor(String theme) {
-        switch (theme) {
-            case "seascape": return 0xFFFF8C42; // Orange
-            case "forest": return 0xFF4CAF50; // Green
-            case "desert": return 0xFFF4A460; // Sandy
-            case "space": return 0xFF9370DB; // Purple
-            case "sunset": return 0xFFFF6B35; // Sunset orange
-            case "ocean": return 0xFF0099CC; // Ocean blue
-            default: return 0xFFFF8C42;
-        }
-    }
-
-    private int getThemeSecondaryButtonColor(String theme) {
-        switch (theme) {
-            case "seascape": return 0xFF9370DB; // Purple
-            case "forest": return 0xFF8B4513; // Brown
-            case "desert": return 0xFFDEB887; // Burlywood
-            case "space": return 0xFF191970; // Midnight blue
-            case "sunset": return 0xFFC73E1D; // Deep orange
-            case "ocean": return 0xFF006994; // Dark ocean blue
-            default: return 0xFF9370DB;
-        }
-    }
-
-    private void showSymbolOptions() {
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        String currentSymbols = prefs.getString("symbolSet", "classic");
-
-        String[] symbolSets = {"Classic (★ ✿)", "Hearts (♥ ♠)", "Numbers (1 2)", "Letters (X O)", "Animals (🐱 🐶)", "Sports (⚽ 🏀)"};
-        String[] symbolValues = {"classic", "hearts", "numbers", "letters", "animals", "sports"};
-
-        AlertDialog.Builder builder = new AlertDialog.Builder(this);
-        builder.setTitle("Choose Symbol Set");
-        builder.setSingleChoiceItems(symbolSets, 
-            java.util.Arrays.asList(symbolValues).indexOf(currentSymbols), null);
-
-        builder.setPositiveButton("Apply", (dialog, which) -> {
-            int selectedPosition = ((android.widget.ListView) ((android.app.AlertDialog) dialog).getListView()).getCheckedItemPosition();
-            String selectedSymbols = symbolValues[selectedPosition];
-            
-            SharedPreferences.Editor editor = prefs.edit();
-            editor.putString("symbolSet", selectedSymbols);
-            editor.apply();
-            
-            // The change will apply automatically in the next game
-            showSymbolChangeConfirmation(selectedSymbols);
-        });
-
-        builder.setNegativeButton("Cancel", null);
-        builder.show();
+        binding.friendButton.setBackgroundColor(theme.buttonColor);
+        binding.computerButton.setBackgroundColor(theme.buttonColor);
+        binding.longModeButton.setBackgroundColor(theme.secondaryButtonColor);
+        binding.bigBoardButton.setBackgroundColor(theme.secondaryButtonColor);
+        binding.ultimateButton.setBackgroundColor(theme.secondaryButtonColor);
     }
 
     private void showBackgroundOptions() {
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        String currentBackground = prefs.getString("backgroundTheme", "seascape");
+        String currentBackground = SettingsStore.get().theme.name;
 
         String[] backgrounds = {"Seascape", "Forest", "Desert", "Space", "Sunset", "Ocean"};
         String[] backgroundValues = {"seascape", "forest", "desert", "space", "sunset", "ocean"};
@@ -389,66 +306,18 @@ public class HomeActivity extends AppCompatActivity {
         builder.setPositiveButton("Apply", (dialog, which) -> {
             int selectedPosition = ((android.widget.ListView) ((android.app.AlertDialog) dialog).getListView()).getCheckedItemPosition();
             String selectedBackground = backgroundValues[selectedPosition];
-            
-            SharedPreferences.Editor editor = prefs.edit();
-            editor.putString("backgroundTheme", selectedBackground);
-            editor.putString("gameLayout", selectedBackground); // Keep backward compatibility
-            editor.apply();
-            
-            // Update home screen background immediately
-            updateHomeBackground(selectedBackground);
+
+            // Subscribed screens, this one included, update immediately
+            SettingsStore.setTheme(this, Theme.forName(selectedBackground));
         });
 
         builder.setNegativeButton("Cancel", null);
         builder.show();
     }
 
-    private void showSymbolChangeConfirmation(String symbolSet) {
-        String displayName = getSymbolDisplayName(symbolSet);
-        
-        AlertDialog.Builder builder = new AlertDialog.Builder(this);
-        builder.setTitle("Symbols Changed!");
-        builder.setMessage("Your symbols have been updated to: " + displayName + "\n\nThese will appear in your next game.");
-        builder.setPositiveButton("Great!", null);
-        builder.show();
-    }
-
-    private String getSymbolDisplayName(String symbolSet) {
-        switch (symbolSet) {
-            case "classic": return "Classic (★ ✿)";
-            case "hearts": return "Hearts (♥ ♠)";
-            case "numbers": return "Numbers (1 2)";
-            case "letters": return "Letters (X O)";
-            case "animals": return "Animals (🐱 🐶)";
-            case "sports": return "Sports (⚽ 🏀)";
-            default: return symbolSet;
-        }
-    }
-
-    private void updateHomeBackground(String background) {
+    private void updateHomeBackground(Theme theme) {
         // Update home screen background
-        int backgroundRes = getBackgroundResource(background);
-        if (backgroundRes != 0) {
-            binding.getRoot().setBackgroundResource(backgroundRes);
-        }
-    }
-
-    private void applySavedBackground() {
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        String background = prefs.getString("backgroundTheme", "seascape");
-        updateHomeBackground(background);
-    }
-
-    private int getBackgroundResource(String background) {
-        switch (background) {
-            case "seascape": return R.drawable.main_seascape_background;
-            case "forest": return R.drawable.main_forest_background;
-            case "desert": return R.drawable.main_desert_background;
-            case "space": return R.drawable.main_space_background;
-            case "sunset": return R.drawable.main_sunset_background;
-            case "ocean": return R.drawable.main_ocean_background;
-            default: return R.drawable.main_seascape_background;
-        }
+        binding.getRoot().setBackgroundResource(theme.backgroundRes);
     }
 
     private void showPlayerId() {
@@ -475,40 +344,8 @@ public class HomeActivity extends AppCompatActivity {
         builder.show();
     }
 
-    private void startBackgroundMusic() {
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        boolean musicEnabled = prefs.getBoolean("backgroundMusicEnabled", false);
-        
-        if (musicEnabled && !isMusicPlaying) {
-            try {
-                backgroundMusicPlayer = MediaPlayer.create(this, R.raw.background_music);
-                if (backgroundMusicPlayer != null) {
-                    backgroundMusicPlayer.setLooping(true);
-                    backgroundMusicPlayer.setVolume(0.3f, 0.3f);
-                    backgroundMusicPlayer.start();
-                    isMusicPlaying = true;
-                } else {
-                    android.widget.Toast.makeText(this, "Unable to load background music", android.widget.Toast.LENGTH_SHORT).show();
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                android.widget.Toast.makeText(this, "Unable to start background music", android.widget.Toast.LENGTH_SHORT).show();
-            }
-        }
-    }
-
-    private void stopBackgroundMusic() {
-        if (backgroundMusicPlayer != null && isMusicPlaying) {
-            backgroundMusicPlayer.stop();
-            backgroundMusicPlayer.release();
-            backgroundMusicPlayer = null;
-            isMusicPlaying = false;
-        }
-    }
-
     private void toggleBackgroundMusic() {
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        boolean musicEnabled = prefs.getBoolean("backgroundMusicEnabled", false);
+        boolean musicEnabled = SettingsStore.get().musicEnabled;
         
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         builder.setTitle("Background Music");
@@ -522,16 +359,8 @@ public class HomeActivity extends AppCompatActivity {
         builder.setView(dialogView);
         
         builder.setPositiveButton("Save", (dialog, which) -> {
-            boolean newState = musicSwitch.isChecked();
-            SharedPreferences.Editor editor = prefs.edit();
-            editor.putBoolean("backgroundMusicEnabled", newState);
-            editor.apply();
-            
-            if (newState && !isMusicPlaying) {
-                startBackgroundMusic();
-            } else if (!newState && isMusicPlaying) {
-                stopBackgroundMusic();
-            }
+            // BackgroundMusic follows the setting
+            SettingsStore.setMusicEnabled(this, musicSwitch.isChecked());
         });
         
         builder.setNegativeButton("Cancel", null);
@@ -539,44 +368,13 @@ public class HomeActivity extends AppCompatActivity {
     }
 
     private void playClickSound() {
-        if (soundPool != null) {
-            soundPool.play(clickSoundId, 0.5f, 0.5f, 1, 0, 1.0f);
-        }
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
     }
 
     @Override
     protected void onDestroy() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
-        }
-        stopBackgroundMusic();
+        SettingsStore.unsubscribe(settingsListener);
+        SoundEffects.release();
         super.onDestroy();
     }
-
-    @Override
-    protected void onPause() {
-        super.onPause();
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        boolean musicEnabled = prefs.getBoolean("backgroundMusicEnabled", false);
-        if (musicEnabled && backgroundMusicPlayer != null && backgroundMusicPlayer.isPlaying()) {
-            backgroundMusicPlayer.pause();
-        }
-    }
-
-    @Override
-    protected void onResume() {
-        super.onResume();
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        boolean musicEnabled = prefs.getBoolean("backgroundMusicEnabled", false);
-        if (musicEnabled && backgroundMusicPlayer != null && !backgroundMusicPlayer.isPlaying()) {
-            try {
-                backgroundMusicPlayer.start();
-                isMusicPlaying = true;
-            } catch (Exception e) {
-                // Handle case where media player was released
-                startBackgroundMusic();
-            }
-        }
-    }
 }
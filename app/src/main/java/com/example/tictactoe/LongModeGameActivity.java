@@ -1,20 +1,29 @@
 package com.example.tictactoe;
 
 import android.content.Intent;
-import android.media.SoundPool;
 import android.os.Bundle;
 import android.os.Handler;
 import android.widget.Button;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.tictactoe.databinding.ActivityLongModeGameBinding;
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.EngineExecutor;
+import com.example.tictactoe.engine.MoveHistory;
+import com.example.tictactoe.engine.MoveStrategy;
+import com.example.tictactoe.engine.Strategies;
+import com.example.tictactoe.engine.StrategyMetrics;
 import java.util.Random;
 
 public class LongModeGameActivity extends AppCompatActivity {
 
+    private static final long COMPUTER_THINK_DELAY_MS = 500;
+    private static final String[] SYMBOLS = {"★", "✿"};
+
     private ActivityLongModeGameBinding binding;
     private Button[] buttons;
-    private int[] board = new int[9];
+    private final Board board = new Board();
+    private final MoveHistory history = new MoveHistory(board);
     private boolean xTurn = true;
     private boolean gameOver = false;
     private String gameMode;
@@ -25,8 +34,11 @@ public class LongModeGameActivity extends AppCompatActivity {
     private int player2Wins = 0;
     private Random random = new Random();
     private Handler handler = new Handler();
-    private SoundPool soundPool;
-    private int clickSoundId;
+    private EngineExecutor engineExecutor;
+    private MoveStrategy<Board> strategy;
+    private boolean computerThinking = false;
+    private boolean seriesOver = false;
+    private final Runnable seriesWinnerTask = this::showSeriesWinner;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -37,9 +49,12 @@ public class LongModeGameActivity extends AppCompatActivity {
         gameMode = getIntent().getStringExtra("gameMode");
         totalRounds = getIntent().getIntExtra("totalRounds", 3);
 
-        // Initialize sound pool
-        soundPool = new SoundPool.Builder().setMaxStreams(1).build();
-        clickSoundId = soundPool.load(this, R.raw.button_click, 1);
+        engineExecutor = new EngineExecutor(handler::post);
+        // Kept for the whole series, so its transposition table carries positions between games
+        strategy = MoveStrategies.registry().create(Strategies.ALPHA_BETA);
+
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
 
         buttons = new Button[]{
             binding.btn0, binding.btn1, binding.btn2,
@@ -52,6 +67,15 @@ public class LongModeGameActivity extends AppCompatActivity {
             buttons[i].setOnClickListener(v -> onCellClicked(finalI));
         }
 
+        binding.undoButton.setOnClickListener(v -> {
+            playClickSound();
+            undoMove();
+        });
+        binding.redoButton.setOnClickListener(v -> {
+            playClickSound();
+            redoMove();
+        });
+
         binding.resetButton.setOnClickListener(v -> {
             playClickSound();
             startNewRound();
@@ -66,99 +90,109 @@ public class LongModeGameActivity extends AppCompatActivity {
     }
 
     private void onCellClicked(int index) {
-        if (gameOver) return;
-        if (board[index] != 0) return;
+        if (gameOver || computerThinking) return;
+        if (!board.isEmpty(index)) return;
 
         if (gameMode.equals("friend")) {
-            board[index] = xTurn ? 1 : 2;
-            buttons[index].setText(xTurn ? "★" : "✿");
+            history.play(index, xTurn ? Board.PLAYER_ONE : Board.PLAYER_TWO);
+            buttons[index].setText(xTurn ? SYMBOLS[0] : SYMBOLS[1]);
         } else {
-            board[index] = 1;
-            buttons[index].setText("★");
+            history.play(index, Board.PLAYER_ONE);
+            buttons[index].setText(SYMBOLS[0]);
         }
 
-        int winner = checkWinner();
+        int winner = board.winner();
         if (winner != 0) {
             endRound(winner);
             return;
         }
 
-        if (isBoardFull()) {
+        if (board.isFull()) {
             endRound(0); // Draw
             return;
         }
 
         if (gameMode.equals("computer")) {
-            handler.postDelayed(this::computerMove, 500);
+            startComputerSearch();
         } else {
             xTurn = !xTurn;
             updateStatus();
         }
     }
 
-    private void computerMove() {
-        int bestScore = Integer.MIN_VALUE;
-        int bestMove = -1;
-
-        for (int i = 0; i < 9; i++) {
-            if (board[i] == 0) {
-                board[i] = 2;
-                int score = minimax(0, false);
-                board[i] = 0;
-                if (score > bestScore) {
-                    bestScore = score;
-                    bestMove = i;
-                }
-            }
-        }
+    // Perfect play from a full-depth alpha-beta search, off the main thread
+    private void startComputerSearch() {
+        computerThinking = true;
+        Board snapshot = board.copy();
+        engineExecutor.submit(() -> strategy.chooseMove(snapshot, Board.PLAYER_TWO, MoveStrategy.NO_DEADLINE),
+                COMPUTER_THINK_DELAY_MS, this::applyComputerMove);
+    }
 
-        if (bestMove != -1) {
-            board[bestMove] = 2;
-            buttons[bestMove].setText("✿");
+    private void applyComputerMove(int move) {
+        computerThinking = false;
+        if (gameOver || move == -1) return;
 
-            int winner = checkWinner();
-            if (winner != 0) {
-                endRound(winner);
-                return;
-            }
+        history.play(move, Board.PLAYER_TWO);
+        buttons[move].setText(SYMBOLS[1]);
 
-            if (isBoardFull()) {
-                endRound(0);
-                return;
-            }
+        int winner = board.winner();
+        if (winner != 0) {
+            endRound(winner);
+            return;
+        }
+
+        if (board.isFull()) {
+            endRound(0);
+            return;
         }
         updateStatus();
     }
 
-    private int minimax(int depth, boolean isMaximizing) {
-        int winner = checkWinner();
-        if (winner == 2) return 10 - depth;
-        if (winner == 1) return depth - 10;
-        if (isBoardFull()) return 0;
-
-        if (isMaximizing) {
-            int bestScore = Integer.MIN_VALUE;
-            for (int i = 0; i < 9; i++) {
-                if (board[i] == 0) {
-                    board[i] = 2;
-                    int score = minimax(depth + 1, false);
-                    board[i] = 0;
-                    bestScore = Math.max(score, bestScore);
-                }
-            }
-            return bestScore;
-        } else {
-            int bestScore = Integer.MAX_VALUE;
-            for (int i = 0; i < 9; i++) {
-                if (board[i] == 0) {
-                    board[i] = 1;
-                    int score = minimax(depth + 1, true);
-                    board[i] = 0;
-                    bestScore = Math.min(score, bestScore);
-                }
-            }
-            return bestScore;
+    // Takes back the last move, or against the computer the last move of each side so
+    // the player is on move again. A reply still being searched is dropped, and a
+    // finished round is reopened with its result taken off the score.
+    private void undoMove() {
+        if (seriesOver || !history.canUndo()) return;
+        engineExecutor.cancel();
+        computerThinking = false;
+        if (gameOver) {
+            reopenRound();
+        }
+        do {
+            buttons[history.undo()].setText("");
+        } while (gameMode.equals("computer") && history.size() % 2 == 1);
+        if (gameMode.equals("friend")) {
+            xTurn = history.size() % 2 == 0;
+        }
+        updateStatus();
+    }
+
+    // Plays the last move taken back again, against the computer together with its reply
+    private void redoMove() {
+        if (gameOver || computerThinking || !history.canRedo()) return;
+        do {
+            int cell = history.redo();
+            buttons[cell].setText(SYMBOLS[history.player(history.size() - 1) - 1]);
+        } while (gameMode.equals("computer") && history.size() % 2 == 1 && history.canRedo());
+        if (gameMode.equals("friend")) {
+            xTurn = history.size() % 2 == 0;
+        }
+
+        int winner = board.winner();
+        if (winner != 0) {
+            endRound(winner);
+            return;
+        }
+        if (board.isFull()) {
+            endRound(0);
+            return;
+        }
+        if (gameMode.equals("computer") && history.size() % 2 == 1) {
+            // The reply was taken back before it was played, so search for it now
+            startComputerSearch();
+            return;
         }
+        updateStatus();
     }
 
     private void endRound(int winner) {
@@ -175,13 +209,25 @@ public class LongModeGameActivity extends AppCompatActivity {
 
         // Check if series is complete
         if (currentRound >= totalRounds) {
-            handler.postDelayed(this::showSeriesWinner, 2000);
+            handler.postDelayed(seriesWinnerTask, 2000);
         } else {
             binding.resetButton.setText("Next Round (" + (currentRound + 1) + "/" + totalRounds + ")");
         }
     }
 
+    private void reopenRound() {
+        int winner = board.winner();
+        if (winner == 1) {
+            player1Wins--;
+        } else if (winner == 2) {
+            player2Wins--;
+        }
+        gameOver = false;
+        handler.removeCallbacks(seriesWinnerTask);
+    }
+
     private void showSeriesWinner() {
+        seriesOver = true;
         String winner;
         if (player1Wins > player2Wins) {
             winner = "★ Wins the Series!\n" + player1Wins + " - " + player2Wins;
@@ -202,9 +248,11 @@ public class LongModeGameActivity extends AppCompatActivity {
     }
 
     private void startNewRound() {
+        engineExecutor.cancel();
+        computerThinking = false;
         currentRound++;
-        for (int i = 0; i < board.length; i++) {
-            board[i] = 0;
+        history.clear();
+        for (int i = 0; i < buttons.length; i++) {
             buttons[i].setText("");
         }
         xTurn = true;
@@ -223,43 +271,18 @@ public class LongModeGameActivity extends AppCompatActivity {
         binding.statusText.setText(xTurn ? "★'s turn" : "✿'s turn");
     }
 
-    private int checkWinner() {
-        int[][] lines = {
-            {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
-            {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
-            {0, 4, 8}, {2, 4, 6}
-        };
-
-        for (int[] line : lines) {
-            int a = line[0], b = line[1], c = line[2];
-            if (board[a] != 0 && board[a] == board[b] && board[a] == board[c]) {
-                return board[a];
-            }
-        }
-        return 0;
-    }
-
-    private boolean isBoardFull() {
-        for (int i = 0; i < board.length; i++) {
-            if (board[i] == 0) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     private void playClickSound() {
-        if (soundPool != null) {
-            soundPool.play(clickSoundId, 0.5f, 0.5f, 1, 0, 1.0f);
-        }
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
     }
 
     @Override
     protected void onDestroy() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
-        }
+        engineExecutor.shutdown();
+        StrategyMetrics metrics = MoveStrategies.registry().metrics();
+        android.util.Log.d("LongModeGameActivity", "Alpha-beta: " + metrics.calls(Strategies.ALPHA_BETA)
+                + " moves, " + Math.round(metrics.averageNodes(Strategies.ALPHA_BETA)) + " positions per move");
+        MoveStrategies.logMetrics("LongModeGameActivity");
+        SoundEffects.release();
         super.onDestroy();
     }
 }
@@ -1,15 +1,12 @@
 package com.example.tictactoe;
 
 import android.content.Intent;
-import android.media.SoundPool;
 import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.tictactoe.databinding.ActivityLongModeRoundsBinding;
 
 public class LongModeRoundsActivity extends AppCompatActivity {
     private ActivityLongModeRoundsBinding binding;
-    private SoundPool soundPool;
-    private int clickSoundId;
     private String gameMode;
 
     @Override
@@ -20,9 +17,8 @@ public class LongModeRoundsActivity extends AppCompatActivity {
 
         gameMode = getIntent().getStringExtra("gameMode");
 
-        // Initialize sound pool
-        soundPool = new SoundPool.Builder().setMaxStreams(1).build();
-        clickSoundId = soundPool.load(this, R.raw.button_click, 1);
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
 
         // 3 Rounds Button
         binding.roundsThreeButton.setOnClickListener(v -> {
@@ -58,17 +54,12 @@ public class LongModeRoundsActivity extends AppCompatActivity {
     }
 
     private void playClickSound() {
-        if (soundPool != null) {
-            soundPool.play(clickSoundId, 0.5f, 0.5f, 1, 0, 1.0f);
-        }
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
     }
 
     @Override
     protected void onDestroy() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
-        }
+        SoundEffects.release();
         super.onDestroy();
     }
 }
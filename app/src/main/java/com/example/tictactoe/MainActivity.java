@@ -1,28 +1,48 @@
 package com.example.tictactoe;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
-import android.media.SoundPool;
 import android.widget.Button;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.tictactoe.databinding.ActivityMainBinding;
-import java.util.Random;
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.EngineExecutor;
+import com.example.tictactoe.engine.GameRecord;
+import com.example.tictactoe.engine.MoveHistory;
+import com.example.tictactoe.engine.MoveStrategy;
+import com.example.tictactoe.engine.PerfectPlayTable;
+import com.example.tictactoe.engine.Ponderer;
 
 public class MainActivity extends AppCompatActivity {
 
+    private static final long COMPUTER_THINK_DELAY_MS = 500;
+    private static final int CELL_COLOR = 0xFFFFFFFF;
+    // Hint colors by the result of playing a cell: win, draw, loss
+    private static final int HINT_WIN_COLOR = 0xFF66BB6A;
+    private static final int HINT_DRAW_COLOR = 0xFFFFD54F;
+    private static final int HINT_LOSS_COLOR = 0xFFEF5350;
+
     private ActivityMainBinding binding;
     private Button[] buttons;
-    private int[] board = new int[9];
+    private final Board board = new Board();
+    private final MoveHistory history = new MoveHistory(board);
     private boolean xTurn = true;
     private boolean gameOver = false;
+    private Theme theme = Theme.SEASCAPE;
+    private final SettingsStore.Listener settingsListener = settings -> applyTheme(settings.theme);
     private String gameMode = "friend"; // "friend" or "computer"
     private String difficulty = "hard"; // "easy", "medium", or "hard"
-    private Random random = new Random();
+    private MoveStrategy<Board> strategy;
+    private MoveStrategy<Board> ponderStrategy; // Runs on the ponder thread, so it needs its own instance
     private Handler handler = new Handler();
-    private SoundPool soundPool;
-    private int clickSoundId;
+    private EngineExecutor engineExecutor;
+    private Ponderer ponderer;
+    private final int[] ponderMoves = new int[Board.CELLS];
+    private boolean computerThinking = false;
+    private boolean showHints = false;
+    private final int[] hintScores = new int[Board.CELLS];
+    private final GameRecord record = new GameRecord();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -30,9 +50,6 @@ public class MainActivity extends AppCompatActivity {
         binding = ActivityMainBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        // Apply saved background theme
-        applyBackgroundTheme();
-
         gameMode = getIntent().getStringExtra("gameMode");
         if (gameMode == null) {
             gameMode = "friend";
@@ -43,9 +60,16 @@ public class MainActivity extends AppCompatActivity {
             difficulty = "hard";
         }
 
-        // Initialize sound pool for button clicks
-        soundPool = new SoundPool.Builder().setMaxStreams(1).build();
-        clickSoundId = soundPool.load(this, R.raw.button_click, 1);
+        engineExecutor = new EngineExecutor(handler::post);
+        if (gameMode.equals("computer")) {
+            strategy = MoveStrategies.registry().create(difficulty);
+            ponderStrategy = MoveStrategies.registry().create(difficulty);
+            ponderer = new Ponderer(Board.CELLS);
+        }
+        startRecording();
+
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
 
         buttons = new Button[]{
             binding.btn0, binding.btn1, binding.btn2,
@@ -58,6 +82,22 @@ public class MainActivity extends AppCompatActivity {
             buttons[i].setOnClickListener(v -> onCellClicked(finalI));
         }
 
+        binding.undoButton.setOnClickListener(v -> {
+            playClickSound();
+            undoMove();
+        });
+        binding.redoButton.setOnClickListener(v -> {
+            playClickSound();
+            redoMove();
+        });
+
+        binding.hintButton.setOnClickListener(v -> {
+            playClickSound();
+            showHints = !showHints;
+            binding.hintButton.setText(showHints ? "Hide Best Moves" : "Show Best Moves");
+            updateHints();
+        });
+
         binding.resetButton.setOnClickListener(v -> {
             playClickSound();
             resetGame();
@@ -79,39 +119,47 @@ public class MainActivity extends AppCompatActivity {
             startActivity(intent);
         });
 
-        updateStatus();
+        // Applies the saved theme and the status now, and again whenever the theme changes
+        SettingsStore.subscribe(this, settingsListener);
+        startPondering();
     }
 
     private void onCellClicked(int index) {
-        if (gameOver) return;
-        if (board[index] != 0) return;
+        if (gameOver || computerThinking) return;
+        if (!board.isEmpty(index)) return;
 
-        String[] symbols = getCurrentSymbols();
         if (gameMode.equals("friend")) {
             // Friend mode: alternate between players
-            board[index] = xTurn ? 1 : 2;
-            buttons[index].setText(xTurn ? symbols[0] : symbols[1]);
+            history.play(index, xTurn ? Board.PLAYER_ONE : Board.PLAYER_TWO);
+            buttons[index].setText(xTurn ? theme.playerOneSymbol : theme.playerTwoSymbol);
         } else {
             // Computer mode: player is always first symbol
-            board[index] = 1;
-            buttons[index].setText(symbols[0]);
+            history.play(index, Board.PLAYER_ONE);
+            buttons[index].setText(theme.playerOneSymbol);
         }
+        record.addMove(index);
+        updateHints();
 
-        int winner = checkWinner();
+        int winner = board.winner();
         if (winner != 0) {
-            String winnerMessage = winner == 1 ? symbols[0] + " Wins!" : symbols[1] + " Wins!";
+            String winnerMessage = winner == 1 ? theme.playerOneSymbol + " Wins!" : theme.playerTwoSymbol + " Wins!";
             endGame(winnerMessage);
             return;
         }
 
-        if (isBoardFull()) {
+        if (board.isFull()) {
             endGame("Draw!");
             return;
         }
 
         if (gameMode.equals("computer")) {
-            // Computer's turn
-            handler.postDelayed(this::computerMove, 500);
+            // A reply pondered while the player was thinking is shown at once
+            int reply = ponderer.take(index);
+            if (reply != Ponderer.NO_REPLY) {
+                applyComputerMove(reply);
+                return;
+            }
+            startComputerSearch();
         } else {
             // Friend's turn
             xTurn = !xTurn;
@@ -119,187 +167,146 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
-    private void computerMove() {
-        if (difficulty.equals("easy")) {
-            easyMove();
-        } else if (difficulty.equals("medium")) {
-            mediumMove();
-        } else {
-            hardMove();
-        }
+    // Computer's turn: search a snapshot off the main thread
+    private void startComputerSearch() {
+        computerThinking = true;
+        Board snapshot = board.copy();
+        engineExecutor.submit(
+                () -> strategy.chooseMove(snapshot, Board.PLAYER_TWO, getThinkDeadline()),
+                COMPUTER_THINK_DELAY_MS, this::applyComputerMove);
     }
 
-    private void easyMove() {
-        // Random move
-        int[] availableMoves = new int[9];
-        int count = 0;
-        for (int i = 0; i < 9; i++) {
-            if (board[i] == 0) {
-                availableMoves[count] = i;
-                count++;
-            }
-        }
+    private void applyComputerMove(int move) {
+        computerThinking = false;
+        if (gameOver || move == -1) return;
 
-        if (count > 0) {
-            int randomIndex = random.nextInt(count);
-            int move = availableMoves[randomIndex];
-            board[move] = 2;
-            String[] symbols = getCurrentSymbols();
-            buttons[move].setText(symbols[1]);
+        history.play(move, Board.PLAYER_TWO);
+        buttons[move].setText(theme.playerTwoSymbol);
+        record.addMove(move);
+        updateHints();
 
-            int winner = checkWinner();
-            if (winner != 0) {
-                endGame("✿ Wins!");
-                return;
-            }
+        int winner = board.winner();
+        if (winner != 0) {
+            endGame(theme.playerTwoSymbol + " Wins!");
+            return;
+        }
 
-            if (isBoardFull()) {
-                endGame("Draw!");
-                return;
-            }
+        if (board.isFull()) {
+            endGame("Draw!");
+            return;
         }
         updateStatus();
+        startPondering();
     }
 
-    private void mediumMove() {
-        // Simple strategy: take center, corners, then edges
-        // First, try to win
-        for (int i = 0; i < 9; i++) {
-            if (board[i] == 0) {
-                board[i] = 2;
-                if (checkWinner() == 2) {
-                    String[] symbols = getCurrentSymbols();
-                    buttons[i].setText(symbols[1]);
-                    endGame(symbols[1] + " Wins!");
-                    return;
-                }
-                board[i] = 0;
-            }
-        }
-
-        // Block player from winning
-        for (int i = 0; i < 9; i++) {
-            if (board[i] == 0) {
-                board[i] = 1;
-                if (checkWinner() == 1) {
-                    board[i] = 2;
-                    buttons[i].setText(getCurrentSymbols()[1]);
-                    board[i] = 2;
-                    updateStatus();
-                    return;
-                }
-                board[i] = 0;
-            }
+    // Takes back the last move, or against the computer the last move of each side so
+    // the player is on move again. A reply still being searched is dropped, and a
+    // finished game is reopened.
+    private void undoMove() {
+        if (!history.canUndo()) return;
+        engineExecutor.cancel();
+        computerThinking = false;
+        if (gameOver) {
+            clearGameOver();
+        }
+        do {
+            buttons[history.undo()].setText("");
+            record.removeLastMove();
+        } while (gameMode.equals("computer") && history.size() % 2 == 1);
+        if (gameMode.equals("friend")) {
+            xTurn = history.size() % 2 == 0;
         }
+        updateStatus();
+        updateHints();
+        startPondering();
+    }
 
-        String[] symbols = getCurrentSymbols();
-        // Take center
-        if (board[4] == 0) {
-            board[4] = 2;
-            buttons[4].setText(symbols[1]);
-        }
-        // Take corners
-        else if (board[0] == 0) {
-            board[0] = 2;
-            buttons[0].setText(symbols[1]);
-        }
-        // Random available move
-        else {
-            int[] availableMoves = new int[9];
-            int count = 0;
-            for (int i = 0; i < 9; i++) {
-                if (board[i] == 0) {
-                    availableMoves[count] = i;
-                    count++;
-                }
-            }
-            if (count > 0) {
-                int move = availableMoves[random.nextInt(count)];
-                board[move] = 2;
-                buttons[move].setText(symbols[1]);
-            }
+    // Plays the last move taken back again, against the computer together with its reply
+    private void redoMove() {
+        if (gameOver || computerThinking || !history.canRedo()) return;
+        do {
+            int cell = history.redo();
+            buttons[cell].setText(theme.symbol(history.player(history.size() - 1)));
+            record.addMove(cell);
+        } while (gameMode.equals("computer") && history.size() % 2 == 1 && history.canRedo());
+        if (gameMode.equals("friend")) {
+            xTurn = history.size() % 2 == 0;
         }
+        updateHints();
 
-        int winner = checkWinner();
+        int winner = board.winner();
         if (winner != 0) {
-            endGame(symbols[1] + " Wins!");
+            endGame(theme.symbol(winner) + " Wins!");
             return;
         }
-
-        if (isBoardFull()) {
+        if (board.isFull()) {
             endGame("Draw!");
             return;
         }
+        if (gameMode.equals("computer") && history.size() % 2 == 1) {
+            // The reply was taken back before it was played, so search for it now
+            ponderer.cancel();
+            startComputerSearch();
+            return;
+        }
         updateStatus();
+        startPondering();
     }
 
-    private void hardMove() {
-        // Minimax algorithm
-        int bestScore = Integer.MIN_VALUE;
-        int bestMove = -1;
-
-        for (int i = 0; i < 9; i++) {
-            if (board[i] == 0) {
-                board[i] = 2;
-                int score = minimax(0, false);
-                board[i] = 0;
-                if (score > bestScore) {
-                    bestScore = score;
-                    bestMove = i;
-                }
+    // Colors every empty cell by its perfect-play score for the side to move; one
+    // table lookup per cell, so it is cheap enough to run after every move
+    private void updateHints() {
+        int scored = 0;
+        boolean computerToMove = gameMode.equals("computer") && board.moveCount() % 2 == 1;
+        if (showHints && !computerToMove) {
+            scored = PerfectPlayTable.scoreMoves(board, hintScores);
+        }
+        for (int i = 0; i < buttons.length; i++) {
+            if ((scored & (1 << i)) == 0) {
+                buttons[i].setBackgroundColor(CELL_COLOR);
+            } else {
+                buttons[i].setBackgroundColor(getHintColor(hintScores[i]));
             }
         }
+    }
 
-        if (bestMove != -1) {
-            board[bestMove] = 2;
-            String[] symbols = getCurrentSymbols();
-            buttons[bestMove].setText(symbols[1]);
-
-            int winner = checkWinner();
-            if (winner != 0) {
-                endGame(symbols[1] + " Wins!");
-                return;
-            }
+    // Wins and losses fade towards the cell color the further off they are
+    private static int getHintColor(int score) {
+        if (score == 0) return HINT_DRAW_COLOR;
+        int color = score > 0 ? HINT_WIN_COLOR : HINT_LOSS_COLOR;
+        int strength = 4 + Math.abs(score); // Out of 14
+        int blended = 0xFF000000;
+        for (int shift = 0; shift < 24; shift += 8) {
+            int channel = (color >> shift) & 0xFF;
+            blended |= (255 - (255 - channel) * strength / 14) << shift;
+        }
+        return blended;
+    }
 
-            if (isBoardFull()) {
-                endGame("Draw!");
-                return;
+    // While the player is on move, work out the reply to each cell they could pick
+    private void startPondering() {
+        if (ponderer == null) return;
+        Board snapshot = board.copy();
+        int count = 0;
+        for (int empty = snapshot.emptyMask(); empty != 0; empty &= empty - 1) {
+            ponderMoves[count++] = Integer.numberOfTrailingZeros(empty);
+        }
+        ponderer.start(ponderMoves, count, humanMove -> {
+            Board position = snapshot.copy();
+            position.place(humanMove, Board.PLAYER_ONE);
+            if (position.winner() != Board.EMPTY || position.isFull()) {
+                return Ponderer.NO_REPLY;
             }
-        }
-        updateStatus();
+            return ponderStrategy.chooseMove(position, Board.PLAYER_TWO, getThinkDeadline());
+        });
     }
 
-    private int minimax(int depth, boolean isMaximizing) {
-        int winner = checkWinner();
-        if (winner == 2) return 10 - depth; // Computer wins
-        if (winner == 1) return depth - 10; // Player wins
-        if (isBoardFull()) return 0; // Draw
-
-        if (isMaximizing) {
-            int bestScore = Integer.MIN_VALUE;
-            for (int i = 0; i < 9; i++) {
-                if (board[i] == 0) {
-                    board[i] = 2;
-                    int score = minimax(depth + 1, false);
-                    board[i] = 0;
-                    bestScore = Math.max(score, bestScore);
-                }
-            }
-            return bestScore;
-        } else {
-            int bestScore = Integer.MAX_VALUE;
-            for (int i = 0; i < 9; i++) {
-                if (board[i] == 0) {
-                    board[i] = 1;
-                    int score = minimax(depth + 1, true);
-                    board[i] = 0;
-                    bestScore = Math.min(score, bestScore);
-                }
-            }
-            return bestScore;
-        }
+    // Moves should be ready by the time the think delay is over
+    private static long getThinkDeadline() {
+        return System.nanoTime() + COMPUTER_THINK_DELAY_MS * 1_000_000L;
     }
 
+    // The game is journaled when it is reset or the screen closes, since it can still be undone
     private void endGame(String message) {
         gameOver = true;
         binding.statusText.setText(message);
@@ -310,134 +317,87 @@ public class MainActivity extends AppCompatActivity {
         binding.resetButtonContainer.setVisibility(android.view.View.VISIBLE);
     }
 
-    private boolean isBoardFull() {
-        for (int i = 0; i < board.length; i++) {
-            if (board[i] == 0) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     private void updateStatus() {
-        String[] symbols = getCurrentSymbols();
         if (gameMode.equals("computer")) {
-            binding.statusText.setText(xTurn ? "Your turn (" + symbols[0] + ")" : "Computer (" + symbols[1] + ")");
+            binding.statusText.setText(xTurn ? "Your turn (" + theme.playerOneSymbol + ")" : "Computer (" + theme.playerTwoSymbol + ")");
         } else {
-            binding.statusText.setText(xTurn ? symbols[0] + "'s turn" : symbols[1] + "'s turn");
+            binding.statusText.setText(xTurn ? theme.playerOneSymbol + "'s turn" : theme.playerTwoSymbol + "'s turn");
         }
     }
 
     private void playClickSound() {
-        if (soundPool != null) {
-            soundPool.play(clickSoundId, 0.5f, 0.5f, 1, 0, 1.0f);
-        }
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
     }
 
     private void resetGame() {
-        binding.resetButtonContainer.setVisibility(android.view.View.GONE);
-        for (int i = 0; i < board.length; i++) {
-            board[i] = 0;
+        saveGame();
+        startRecording();
+        engineExecutor.cancel();
+        if (ponderer != null) {
+            ponderer.cancel();
+        }
+        computerThinking = false;
+        history.clear();
+        for (int i = 0; i < buttons.length; i++) {
             buttons[i].setText("");
         }
+        updateHints();
         xTurn = true;
+        clearGameOver();
+        updateStatus();
+        startPondering();
+    }
+
+    private void clearGameOver() {
         gameOver = false;
+        binding.resetButtonContainer.setVisibility(android.view.View.GONE);
         binding.winnerText.setVisibility(android.view.View.GONE);
         binding.confettiView.stopConfetti();
         binding.confettiView.setVisibility(android.view.View.GONE);
-        updateStatus();
-    }
-
-    private String[] getCurrentSymbols() {
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        String theme = prefs.getString("backgroundTheme", "seascape");
-        
-        switch (theme) {
-            case "forest":
-                return new String[]{"🐱", "🐶"}; // Animals for forest
-            case "desert":
-                return new String[]{"⚽", "🏀"}; // Sports for desert
-            case "space":
-                return new String[]{"X", "O"}; // Letters for space
-            case "sunset":
-                return new String[]{"♥", "♠"}; // Hearts for sunset
-            case "ocean":
-                return new String[]{"1", "2"}; // Numbers for ocean
-            default:
-                return new String[]{"★", "✿"}; // Classic for seascape
-        }
-    }
-
-    private void applyBackgroundTheme() {
-        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-        String background = prefs.getString("backgroundTheme", "seascape");
-        
-        int backgroundRes = getBackgroundResource(background);
-        if (backgroundRes != 0) {
-            binding.getRoot().setBackgroundResource(backgroundRes);
-        }
-        
-        // Apply themed button colors
-        applyThemedButtonColors(background);
     }
 
-    private void applyThemedButtonColors(String theme) {
-        int buttonColor = getThemeButtonColor(theme);
-        
-        if (binding.resetButton != null) {
-            binding.resetButton.setBackgroundColor(buttonColor);
-        }
-        if (binding.resetButtonOverlay != null) {
-            binding.resetButtonOverlay.setBackgroundColor(buttonColor);
+    private void startRecording() {
+        if (gameMode.equals("computer")) {
+            record.reset(GameRecord.MODE_COMPUTER, GameHistory.difficulty(difficulty));
+        } else {
+            record.reset(GameRecord.MODE_FRIEND, GameRecord.DIFFICULTY_NONE);
         }
     }
 
-    private int getThemeButtonColor(String theme) {
-        switch (theme) {
-            case "seascape": return 0xFFFF8C42; // Orange
-            case "forest": return 0xFF4CAF50; // Green
-            case "desert": return 0xFFF4A460; // Sandy
-            case "space": return 0xFF9370DB; // Purple
-            case "sunset": return 0xFFFF6B35; // Sunset orange
-            case "ocean": return 0xFF0099CC; // Ocean blue
-            default: return 0xFFFF8C42;
-        }
+    // Appends the game to the journal with its result as it stands, unless no move was made
+    private void saveGame() {
+        if (record.moveCount() == 0) return;
+        record.setResultFromWinner(board.winner(), board.isFull());
+        GameHistory.record(this, record);
     }
 
-    private int getBackgroundResource(String background) {
-        switch (background) {
-            case "seascape": return R.drawable.main_seascape_background;
-            case "forest": return R.drawable.main_forest_background;
-            case "desert": return R.drawable.main_desert_background;
-            case "space": return R.drawable.main_space_background;
-            case "sunset": return R.drawable.main_sunset_background;
-            case "ocean": return R.drawable.main_ocean_background;
-            default: return R.drawable.main_seascape_background;
+    // Restyles the screen, including marks already on the board
+    private void applyTheme(Theme newTheme) {
+        theme = newTheme;
+        binding.getRoot().setBackgroundResource(theme.backgroundRes);
+        binding.resetButton.setBackgroundColor(theme.buttonColor);
+        binding.resetButtonOverlay.setBackgroundColor(theme.buttonColor);
+        for (int cell = 0; cell < buttons.length; cell++) {
+            buttons[cell].setText(theme.symbol(board.get(cell)));
         }
-    }
-
-    private int checkWinner() {
-        int[][] lines = {
-            {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
-            {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
-            {0, 4, 8}, {2, 4, 6}
-        };
-
-        for (int[] line : lines) {
-            int a = line[0], b = line[1], c = line[2];
-            if (board[a] != 0 && board[a] == board[b] && board[a] == board[c]) {
-                return board[a];
-            }
+        if (!gameOver) {
+            updateStatus();
         }
-        return 0;
     }
 
     @Override
     protected void onDestroy() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
-        }
+        SettingsStore.unsubscribe(settingsListener);
+        saveGame();
+        engineExecutor.shutdown();
+        if (ponderer != null) {
+            ponderer.shutdown();
+            MoveStrategies.logMetrics("MainActivity");
+            android.util.Log.d("MainActivity", "Ponder: " + ponderer.hits() + " hits, " + ponderer.misses()
+                    + " misses (" + Math.round(ponderer.hitRate() * 100) + "%), "
+                    + ponderer.savedNanos() / 1000 + " µs search saved");
+        }
+        SoundEffects.release();
         super.onDestroy();
     }
 }
@@ -0,0 +1,47 @@
+package com.example.tictactoe;
+
+import android.os.Debug;
+import com.example.tictactoe.engine.GridBoard;
+import com.example.tictactoe.engine.Strategies;
+import com.example.tictactoe.engine.StrategyMetrics;
+import com.example.tictactoe.engine.StrategyRegistry;
+import java.util.Random;
+
+/**
+ * The app's strategy registry, shared by every screen so the metrics it
+ * records cover the whole process.
+ */
+final class MoveStrategies {
+
+    private static StrategyRegistry registry;
+
+    private MoveStrategies() {
+    }
+
+    static synchronized StrategyRegistry registry() {
+        if (registry == null) {
+            registry = StrategyRegistry.withDefaults(new Random(), newMetrics());
+            // Only created once TablebaseLoader.get() has a table to hand out
+            registry.register(Strategies.TABLEBASE_4X4, GridBoard.class,
+                    () -> Strategies.tablebase(TablebaseLoader.get()));
+        }
+        return registry;
+    }
+
+    // ART only counts allocations per thread while counting is switched on, and counting
+    // slows every allocation, so only debug builds measure them; release builds leave
+    // allocations out of the metrics
+    @SuppressWarnings("deprecation")
+    private static StrategyMetrics newMetrics() {
+        if (!BuildConfig.DEBUG) {
+            return new StrategyMetrics();
+        }
+        Debug.startAllocCounting();
+        return new StrategyMetrics(() -> Debug.getThreadAllocSize());
+    }
+
+    // Exports the metrics recorded so far to the log, as JSON
+    static void logMetrics(String tag) {
+        android.util.Log.d(tag, "Strategy metrics: " + registry().metrics().toJson());
+    }
+}
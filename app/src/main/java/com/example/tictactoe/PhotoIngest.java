@@ -0,0 +1,197 @@
+package com.example.tictactoe;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Turns a picked or captured photo into the player's profile photo file,
+ * entirely on a background thread: the source is streamed in subsampled,
+ * cropped to a square of {@link #PHOTO_SIZE}, encoded as JPEG into a temp
+ * file and renamed into place, so a half-written photo is never seen.
+ *
+ * Progress, the result and failures are reported on the main thread, and
+ * a cancelled job reports nothing and leaves no file behind. Once the
+ * profile points at the new photo, {@link #commit} deletes the ones it
+ * replaced.
+ */
+final class PhotoIngest {
+
+    interface Listener {
+        void onProgress(int percent);
+
+        // photo is the saved image, already scaled, for previews
+        void onSaved(String fileName, Bitmap photo);
+
+        void onFailed(Exception error);
+    }
+
+    // Side of the saved square photo in pixels; several times the largest avatar on screen
+    static final int PHOTO_SIZE = 512;
+
+    private static final String PREFIX = "profile_photo_";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int QUALITY = 85;
+
+    private static final Handler mainThread = new Handler(Looper.getMainLooper());
+    private static ExecutorService worker;
+
+    private PhotoIngest() {
+    }
+
+    static final class Job {
+        private volatile boolean cancelled;
+
+        // Stops the job at its next step and deletes anything it wrote; no callback follows
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private interface Source {
+        Bitmap decode(Job job, Listener listener) throws IOException;
+    }
+
+    // A gallery or document URI, read twice: once for its size, once subsampled
+    static Job ingest(Context context, Uri uri, Listener listener) {
+        Context appContext = context.getApplicationContext();
+        return start(appContext, listener, true, (job, progressListener) -> {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            try (InputStream in = open(appContext, uri)) {
+                BitmapFactory.decodeStream(in, null, options);
+            }
+            if (options.outWidth <= 0 || options.outHeight <= 0) {
+                throw new IOException("Not an image: " + uri);
+            }
+            report(job, progressListener, 10);
+            if (job.cancelled) return null;
+
+            options.inSampleSize = AvatarLoader.sampleSize(options.outWidth, options.outHeight, PHOTO_SIZE);
+            options.inJustDecodeBounds = false;
+            try (InputStream in = open(appContext, uri)) {
+                return BitmapFactory.decodeStream(in, null, options);
+            }
+        });
+    }
+
+    // A bitmap already in memory, such as the camera's preview image
+    static Job ingest(Context context, Bitmap bitmap, Listener listener) {
+        return start(context.getApplicationContext(), listener, false, (job, progressListener) -> bitmap);
+    }
+
+    // Call once the profile points at fileName: deletes every other photo, in the background
+    static void commit(Context context, String fileName) {
+        File dir = context.getApplicationContext().getFilesDir();
+        worker().execute(() -> {
+            File[] files = dir.listFiles();
+            if (files == null) return;
+            for (File file : files) {
+                if (file.getName().startsWith(PREFIX) && !file.getName().equals(fileName)) {
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    // Deletes a photo that was saved but never used for the profile
+    static void discard(Context context, String fileName) {
+        File file = new File(context.getApplicationContext().getFilesDir(), fileName);
+        worker().execute(file::delete);
+    }
+
+    // ownsSource: the decoded bitmap is ours to recycle once scaled
+    private static Job start(Context appContext, Listener listener, boolean ownsSource, Source source) {
+        Job job = new Job();
+        worker().execute(() -> {
+            if (job.cancelled) return;
+            String fileName = PREFIX + System.currentTimeMillis() + ".jpg";
+            File dir = appContext.getFilesDir();
+            File temp = new File(dir, fileName + TEMP_SUFFIX);
+            File target = new File(dir, fileName);
+            try {
+                Bitmap decoded = source.decode(job, listener);
+                if (decoded == null) {
+                    if (job.cancelled) return;
+                    throw new IOException("Photo could not be decoded");
+                }
+                report(job, listener, 50);
+                if (job.cancelled) return;
+
+                Bitmap photo = AvatarLoader.scaleToSquare(decoded, PHOTO_SIZE);
+                if (ownsSource && photo != decoded) {
+                    decoded.recycle();
+                }
+                report(job, listener, 60);
+                if (job.cancelled) return;
+
+                try (FileOutputStream out = new FileOutputStream(temp)) {
+                    if (!photo.compress(Bitmap.CompressFormat.JPEG, QUALITY, out)) {
+                        throw new IOException("Photo could not be encoded");
+                    }
+                    out.getFD().sync();
+                }
+                report(job, listener, 90);
+                if (job.cancelled) return;
+
+                if (!temp.renameTo(target)) {
+                    throw new IOException("Could not save " + fileName);
+                }
+                mainThread.post(() -> {
+                    if (job.cancelled) {
+                        discard(appContext, fileName);
+                        return;
+                    }
+                    listener.onProgress(100);
+                    listener.onSaved(fileName, photo);
+                });
+            } catch (IOException | RuntimeException e) {
+                android.util.Log.w("PhotoIngest", "Photo ingest failed", e);
+                mainThread.post(() -> {
+                    if (!job.cancelled) {
+                        listener.onFailed(e);
+                    }
+                });
+            } finally {
+                temp.delete();
+            }
+        });
+        return job;
+    }
+
+    private static InputStream open(Context context, Uri uri) throws IOException {
+        InputStream in = context.getContentResolver().openInputStream(uri);
+        if (in == null) {
+            throw new IOException("Cannot open " + uri);
+        }
+        return in;
+    }
+
+    private static void report(Job job, Listener listener, int percent) {
+        mainThread.post(() -> {
+            if (!job.cancelled) {
+                listener.onProgress(percent);
+            }
+        });
+    }
+
+    private static synchronized ExecutorService worker() {
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "photo-ingest");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return worker;
+    }
+}
@@ -1,13 +1,10 @@
 package com.example.tictactoe;
 
 import android.Manifest;
-import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.media.SoundPool;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -17,14 +14,13 @@ import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import com.example.tictactoe.databinding.ActivityPhotoUploadBinding;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 
 public class PhotoUploadActivity extends AppCompatActivity {
     private ActivityPhotoUploadBinding binding;
-    private SoundPool soundPool;
-    private int clickSoundId;
-    private Bitmap selectedPhotoBitmap = null;
+    // Photo file prepared from the last pick, not yet saved to the profile
+    private String ingestedPhoto = null;
+    private PhotoIngest.Job ingestJob = null;
+    private CharSequence saveButtonLabel;
     private String playerName = "";
     private String playerDescription = "";
     private String photoSource = "";
@@ -45,9 +41,10 @@ public class PhotoUploadActivity extends AppCompatActivity {
         playerDescription = intent.getStringExtra("playerDescription");
         photoSource = intent.getStringExtra("photoSource");
 
-        // Initialize sound pool
-        soundPool = new SoundPool.Builder().setMaxStreams(1).build();
-        clickSoundId = soundPool.load(this, R.raw.button_click, 1);
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
+
+        saveButtonLabel = binding.savePhotoButton.getText();
 
         // Gallery launcher
         galleryLauncher = registerForActivityResult(
@@ -55,7 +52,7 @@ public class PhotoUploadActivity extends AppCompatActivity {
                 result -> {
                     if (result.getResultCode() == RESULT_OK && result.getData() != null) {
                         Uri imageUri = result.getData().getData();
-                        loadPhotoFromUri(imageUri);
+                        startIngest(PhotoIngest.ingest(this, imageUri, ingestListener));
                     }
                 }
         );
@@ -66,10 +63,8 @@ public class PhotoUploadActivity extends AppCompatActivity {
                 result -> {
                     if (result.getResultCode() == RESULT_OK && result.getData() != null) {
                         Bundle extras = result.getData().getExtras();
-                        if (extras != null) {
-                            selectedPhotoBitmap = (Bitmap) extras.get("data");
-                            binding.photoPreview.setImageBitmap(selectedPhotoBitmap);
-                            binding.savePhotoButton.setEnabled(true);
+                        if (extras != null && extras.get("data") != null) {
+                            startIngest(PhotoIngest.ingest(this, (Bitmap) extras.get("data"), ingestListener));
                         }
                     }
                 }
@@ -118,7 +113,7 @@ public class PhotoUploadActivity extends AppCompatActivity {
     }
 
     private void playClickSound() {
-        soundPool.play(clickSoundId, 0.8f, 0.8f, 1, 0, 1.0f);
+        SoundEffects.play(SoundEffects.CLICK, 0.8f);
     }
 
     private void launchGallery() {
@@ -140,58 +135,79 @@ public class PhotoUploadActivity extends AppCompatActivity {
         cameraLauncher.launch(intent);
     }
 
-    private void loadPhotoFromUri(Uri imageUri) {
-        try {
-            InputStream inputStream = getContentResolver().openInputStream(imageUri);
-            selectedPhotoBitmap = BitmapFactory.decodeStream(inputStream);
-            binding.photoPreview.setImageBitmap(selectedPhotoBitmap);
-            binding.savePhotoButton.setEnabled(true);
-            if (inputStream != null) inputStream.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+    // Replaces any photo being prepared or prepared but unsaved
+    private void startIngest(PhotoIngest.Job job) {
+        if (ingestJob != null) {
+            ingestJob.cancel();
         }
+        if (ingestedPhoto != null) {
+            PhotoIngest.discard(this, ingestedPhoto);
+            ingestedPhoto = null;
+        }
+        ingestJob = job;
+        binding.savePhotoButton.setEnabled(false);
     }
 
+    private final PhotoIngest.Listener ingestListener = new PhotoIngest.Listener() {
+        @Override
+        public void onProgress(int percent) {
+            binding.savePhotoButton.setText("Preparing photo… " + percent + "%");
+        }
+
+        @Override
+        public void onSaved(String fileName, Bitmap photo) {
+            ingestJob = null;
+            ingestedPhoto = fileName;
+            binding.photoPreview.setImageBitmap(photo);
+            binding.savePhotoButton.setText(saveButtonLabel);
+            binding.savePhotoButton.setEnabled(true);
+        }
+
+        @Override
+        public void onFailed(Exception error) {
+            ingestJob = null;
+            binding.savePhotoButton.setText(saveButtonLabel);
+            Toast.makeText(PhotoUploadActivity.this, "Error loading photo", Toast.LENGTH_SHORT).show();
+        }
+    };
+
     private void savePhoto() {
-        if (selectedPhotoBitmap == null) {
+        if (ingestedPhoto == null) {
             Toast.makeText(this, "Please select a photo first", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        try {
-            // Save to internal storage with unique filename
-            String fileName = "profile_photo_" + System.currentTimeMillis() + ".png";
-            FileOutputStream fos = openFileOutput(fileName, Context.MODE_PRIVATE);
-            selectedPhotoBitmap.compress(Bitmap.CompressFormat.PNG, 90, fos);
-            fos.close();
-
-            // Save player profile data
-            SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
-            SharedPreferences.Editor editor = prefs.edit();
-            editor.putBoolean("profileSetupComplete", true);
-            editor.putString("playerName", playerName);
-            editor.putString("playerDescription", playerDescription);
-            editor.putString("playerPhotoPath", fileName);
-            editor.apply();
-
-            Toast.makeText(this, "Profile saved successfully!", Toast.LENGTH_SHORT).show();
-            
-            // Start home activity
-            Intent homeIntent = new Intent(PhotoUploadActivity.this, HomeActivity.class);
-            startActivity(homeIntent);
-            finish();
-        } catch (Exception e) {
-            e.printStackTrace();
-            Toast.makeText(this, "Error saving photo", Toast.LENGTH_SHORT).show();
-        }
+        // The photo file was written when it was picked; only the profile is left to save
+        String fileName = ingestedPhoto;
+        ingestedPhoto = null;
+
+        // Save player profile data
+        SharedPreferences prefs = getSharedPreferences("TicTacToe", MODE_PRIVATE);
+        SharedPreferences.Editor editor = prefs.edit();
+        editor.putBoolean("profileSetupComplete", true);
+        editor.putString("playerName", playerName);
+        editor.putString("playerDescription", playerDescription);
+        editor.putString("playerPhotoPath", fileName);
+        editor.apply();
+        PhotoIngest.commit(this, fileName);
+
+        Toast.makeText(this, "Profile saved successfully!", Toast.LENGTH_SHORT).show();
+
+        // Start home activity
+        Intent homeIntent = new Intent(PhotoUploadActivity.this, HomeActivity.class);
+        startActivity(homeIntent);
+        finish();
     }
 
     @Override
     protected void onDestroy() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
+        if (ingestJob != null) {
+            ingestJob.cancel();
+        }
+        if (ingestedPhoto != null) {
+            PhotoIngest.discard(this, ingestedPhoto);
         }
+        SoundEffects.release();
         super.onDestroy();
     }
 }
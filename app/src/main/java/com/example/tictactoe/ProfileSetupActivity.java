@@ -3,8 +3,6 @@ package com.example.tictactoe;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.media.SoundPool;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
@@ -16,22 +14,19 @@ import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import com.example.tictactoe.databinding.ActivityProfileSetupBinding;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import android.Manifest;
 import android.content.pm.PackageManager;
 
 public class ProfileSetupActivity extends AppCompatActivity {
     private ActivityProfileSetupBinding binding;
-    private SoundPool soundPool;
-    private int clickSoundId;
     private EditText playerNameInput;
     private EditText playerDescriptionInput;
     private ImageView profileImageView;
     private boolean isEditMode = false;
-    private Bitmap selectedPhotoBitmap = null;
+    // Photo file prepared from the last pick, not yet saved to the profile
+    private String ingestedPhoto = null;
+    private PhotoIngest.Job ingestJob = null;
+    private CharSequence uploadButtonLabel;
     private ActivityResultLauncher<Intent> galleryLauncher;
     private ActivityResultLauncher<String> permissionLauncher;
 
@@ -41,9 +36,8 @@ public class ProfileSetupActivity extends AppCompatActivity {
         binding = ActivityProfileSetupBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        // Initialize sound pool
-        soundPool = new SoundPool.Builder().setMaxStreams(1).build();
-        clickSoundId = soundPool.load(this, R.raw.button_click, 1);
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
 
         // Get input fields
         playerNameInput = binding.playerNameInput;
@@ -112,13 +106,14 @@ public class ProfileSetupActivity extends AppCompatActivity {
             }
             String description = playerDescriptionInput.getText().toString().trim();
             
-            // Save photo if selected
-            String photoPath = null;
-            if (selectedPhotoBitmap != null) {
-                photoPath = savePhotoToInternalStorage(selectedPhotoBitmap);
-            }
-            
+            // A picked photo was already written in the background; null keeps the current one
+            String photoPath = ingestedPhoto;
+            ingestedPhoto = null;
+
             savePlayerProfile(name, description, photoPath);
+            if (photoPath != null) {
+                PhotoIngest.commit(this, photoPath);
+            }
         });
 
         // Skip for Now Button
@@ -169,27 +164,23 @@ public class ProfileSetupActivity extends AppCompatActivity {
         playerNameInput.setText(name);
         playerDescriptionInput.setText(description);
         
-        // Load profile photo if exists
+        // Show the saved photo as a thumbnail; it stays on disk as is unless replaced
         if (!photoPath.isEmpty()) {
-            try {
-                File file = new File(getFilesDir(), photoPath);
-                if (file.exists()) {
-                    FileInputStream fis = new FileInputStream(file);
-                    selectedPhotoBitmap = BitmapFactory.decodeStream(fis);
-                    if (profileImageView != null && selectedPhotoBitmap != null) {
-                        profileImageView.setImageBitmap(selectedPhotoBitmap);
-                        profileImageView.setVisibility(android.view.View.VISIBLE);
-                        binding.uploadPhotoButton.setText("Change Photo");
-                    }
-                    fis.close();
+            AvatarLoader.load(this, photoPath, avatar -> {
+                if (isDestroyed()) return;
+                if (avatar == null) {
+                    // Clear missing or corrupted photo path
+                    SharedPreferences.Editor editor = prefs.edit();
+                    editor.remove("playerPhotoPath");
+                    editor.apply();
+                    return;
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
-                // Clear corrupted photo path
-                SharedPreferences.Editor editor = prefs.edit();
-                editor.remove("playerPhotoPath");
-                editor.apply();
-            }
+                // A photo picked while loading takes precedence
+                if (ingestedPhoto != null || ingestJob != null || profileImageView == null) return;
+                profileImageView.setImageBitmap(avatar);
+                profileImageView.setVisibility(android.view.View.VISIBLE);
+                binding.uploadPhotoButton.setText("Change Photo");
+            });
         }
     }
 
@@ -229,49 +220,60 @@ public class ProfileSetupActivity extends AppCompatActivity {
         galleryLauncher.launch(intent);
     }
 
+    // Prepares the picked photo in the background, replacing any earlier unsaved pick
     private void loadPhotoFromUri(Uri imageUri) {
-        try {
-            InputStream inputStream = getContentResolver().openInputStream(imageUri);
-            selectedPhotoBitmap = BitmapFactory.decodeStream(inputStream);
-            if (profileImageView != null) {
-                profileImageView.setImageBitmap(selectedPhotoBitmap);
-                profileImageView.setVisibility(android.view.View.VISIBLE);
-            }
-            if (inputStream != null) inputStream.close();
-            
-            // Update button text to show photo selected
-            binding.uploadPhotoButton.setText("Change Photo");
-        } catch (Exception e) {
-            e.printStackTrace();
-            Toast.makeText(this, "Error loading photo", Toast.LENGTH_SHORT).show();
+        if (ingestJob != null) {
+            ingestJob.cancel();
+        } else {
+            uploadButtonLabel = binding.uploadPhotoButton.getText();
         }
-    }
-
-    private String savePhotoToInternalStorage(Bitmap bitmap) {
-        try {
-            String fileName = "profile_photo_" + System.currentTimeMillis() + ".png";
-            FileOutputStream fos = openFileOutput(fileName, MODE_PRIVATE);
-            bitmap.compress(Bitmap.CompressFormat.PNG, 90, fos);
-            fos.close();
-            return fileName;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+        if (ingestedPhoto != null) {
+            PhotoIngest.discard(this, ingestedPhoto);
+            ingestedPhoto = null;
         }
+        binding.saveProfileButton.setEnabled(false);
+        ingestJob = PhotoIngest.ingest(this, imageUri, new PhotoIngest.Listener() {
+            @Override
+            public void onProgress(int percent) {
+                binding.uploadPhotoButton.setText("Preparing photo… " + percent + "%");
+            }
+
+            @Override
+            public void onSaved(String fileName, Bitmap photo) {
+                ingestJob = null;
+                ingestedPhoto = fileName;
+                if (profileImageView != null) {
+                    profileImageView.setImageBitmap(photo);
+                    profileImageView.setVisibility(android.view.View.VISIBLE);
+                }
+                // Update button text to show photo selected
+                binding.uploadPhotoButton.setText("Change Photo");
+                binding.saveProfileButton.setEnabled(true);
+            }
+
+            @Override
+            public void onFailed(Exception error) {
+                ingestJob = null;
+                binding.uploadPhotoButton.setText(uploadButtonLabel);
+                binding.saveProfileButton.setEnabled(true);
+                Toast.makeText(ProfileSetupActivity.this, "Error loading photo", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     private void playClickSound() {
-        if (soundPool != null) {
-            soundPool.play(clickSoundId, 0.5f, 0.5f, 1, 0, 1.0f);
-        }
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
     }
 
     @Override
     protected void onDestroy() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
+        if (ingestJob != null) {
+            ingestJob.cancel();
+        }
+        if (ingestedPhoto != null) {
+            PhotoIngest.discard(this, ingestedPhoto);
         }
+        SoundEffects.release();
         super.onDestroy();
     }
 }
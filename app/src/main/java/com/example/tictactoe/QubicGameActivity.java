@@ -0,0 +1,236 @@
+package com.example.tictactoe;
+
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.os.Handler;
+import android.util.TypedValue;
+import android.widget.Button;
+import android.widget.GridLayout;
+import androidx.appcompat.app.AppCompatActivity;
+import com.example.tictactoe.databinding.ActivityQubicGameBinding;
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.EngineExecutor;
+import com.example.tictactoe.engine.MoveStrategy;
+import com.example.tictactoe.engine.QubicBoard;
+import com.example.tictactoe.engine.Strategies;
+
+public class QubicGameActivity extends AppCompatActivity {
+
+    private static final long COMPUTER_THINK_DELAY_MS = 500;
+
+    private ActivityQubicGameBinding binding;
+    private final QubicBoard board = new QubicBoard();
+    private Button[] buttons = new Button[QubicBoard.CELLS];
+    private boolean xTurn = true;
+    private boolean gameOver = false;
+    private Theme theme = Theme.SEASCAPE;
+    private final SettingsStore.Listener settingsListener = settings -> applyTheme(settings.theme);
+    private String gameMode = "friend"; // "friend" or "computer"
+    private String difficulty = "hard"; // "easy", "medium", or "hard"
+    private Handler handler = new Handler();
+    private EngineExecutor engineExecutor;
+    private MoveStrategy<QubicBoard> strategy;
+    private boolean computerThinking = false;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityQubicGameBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        gameMode = getIntent().getStringExtra("gameMode");
+        if (gameMode == null) {
+            gameMode = "friend";
+        }
+
+        difficulty = getIntent().getStringExtra("difficulty");
+        if (difficulty == null) {
+            difficulty = "hard";
+        }
+
+        if (gameMode.equals("computer")) {
+            engineExecutor = new EngineExecutor(handler::post);
+            // Root moves are split across every core
+            strategy = MoveStrategies.registry().create(
+                    Strategies.forDifficulty(Strategies.QUBIC, difficulty), QubicBoard.class);
+        }
+
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
+
+        buildGrid();
+
+        binding.resetButton.setOnClickListener(v -> {
+            playClickSound();
+            resetGame();
+        });
+        binding.backButton.setOnClickListener(v -> {
+            playClickSound();
+            finish();
+        });
+
+        // Applies the saved theme and the status now, and again whenever the theme changes
+        SettingsStore.subscribe(this, settingsListener);
+    }
+
+    // The four layers are shown as 4x4 grids, two per row
+    private void buildGrid() {
+        GridLayout grid = binding.grid;
+        grid.setColumnCount(8);
+        grid.setRowCount(8);
+
+        // Fit the whole board to the screen width, minus the layout padding
+        float density = getResources().getDisplayMetrics().density;
+        int available = getResources().getDisplayMetrics().widthPixels - (int) (48 * density);
+        int gap = Math.max(4, available / 24); // Space between layers
+        int cellSize = (available - gap) / 8;
+        int margin = Math.max(1, cellSize / 24);
+
+        for (int gridRow = 0; gridRow < 8; gridRow++) {
+            for (int gridCol = 0; gridCol < 8; gridCol++) {
+                int layer = (gridRow / 4) * 2 + gridCol / 4;
+                int cell = QubicBoard.cell(layer, gridRow % 4, gridCol % 4);
+
+                Button button = new Button(this);
+                button.setBackgroundColor(0xFFFFFFFF);
+                button.setTextColor(0xFF006994);
+                button.setTypeface(Typeface.DEFAULT_BOLD);
+                button.setTextSize(TypedValue.COMPLEX_UNIT_PX, cellSize * 0.5f);
+                button.setAllCaps(false);
+                button.setPadding(0, 0, 0, 0);
+                button.setMinWidth(0);
+                button.setMinimumWidth(0);
+                button.setMinHeight(0);
+                button.setMinimumHeight(0);
+
+                GridLayout.LayoutParams params = new GridLayout.LayoutParams();
+                params.width = cellSize - 2 * margin;
+                params.height = cellSize - 2 * margin;
+                params.setMargins(margin + (gridCol == 4 ? gap : 0),
+                        margin + (gridRow == 4 ? gap : 0), margin, margin);
+                grid.addView(button, params);
+
+                button.setOnClickListener(v -> onCellClicked(cell));
+                buttons[cell] = button;
+            }
+        }
+    }
+
+    private void onCellClicked(int cell) {
+        if (gameOver || computerThinking) return;
+        if (!board.isEmpty(cell)) return;
+
+        board.place(cell, xTurn ? Board.PLAYER_ONE : Board.PLAYER_TWO);
+        buttons[cell].setText(xTurn ? theme.playerOneSymbol : theme.playerTwoSymbol);
+
+        if (checkGameOver()) return;
+
+        xTurn = !xTurn;
+        updateStatus();
+
+        if (gameMode.equals("computer")) {
+            // Computer's turn: search a snapshot off the main thread
+            computerThinking = true;
+            QubicBoard snapshot = board.copy();
+            long deadlineNanos = System.nanoTime() + getThinkBudgetMillis() * 1_000_000L;
+            engineExecutor.submit(() -> strategy.chooseMove(snapshot, Board.PLAYER_TWO, deadlineNanos),
+                    COMPUTER_THINK_DELAY_MS, this::applyComputerMove);
+        }
+    }
+
+    private void applyComputerMove(int move) {
+        computerThinking = false;
+        if (gameOver || move == -1) return;
+
+        board.place(move, Board.PLAYER_TWO);
+        buttons[move].setText(theme.playerTwoSymbol);
+
+        if (checkGameOver()) return;
+
+        xTurn = true;
+        updateStatus();
+    }
+
+    private boolean checkGameOver() {
+        // Only the lines through the last move are checked
+        int winner = board.winner();
+        if (winner != 0) {
+            endGame(winner == 1 ? theme.playerOneSymbol + " Wins!" : theme.playerTwoSymbol + " Wins!");
+            return true;
+        }
+
+        if (board.isFull()) {
+            endGame("Draw!");
+            return true;
+        }
+        return false;
+    }
+
+    // Wall-clock budget per computer move, scaled by difficulty
+    private long getThinkBudgetMillis() {
+        switch (difficulty) {
+            case "easy": return 100;
+            case "medium": return 300;
+            default: return 500;
+        }
+    }
+
+    private void endGame(String message) {
+        gameOver = true;
+        binding.statusText.setText(message);
+        binding.confettiView.setVisibility(android.view.View.VISIBLE);
+        binding.confettiView.startConfetti();
+    }
+
+    private void resetGame() {
+        if (engineExecutor != null) {
+            engineExecutor.cancel();
+        }
+        computerThinking = false;
+        board.clear();
+        for (Button button : buttons) {
+            button.setText("");
+        }
+        xTurn = true;
+        gameOver = false;
+        binding.confettiView.stopConfetti();
+        binding.confettiView.setVisibility(android.view.View.GONE);
+        updateStatus();
+    }
+
+    private void updateStatus() {
+        if (gameMode.equals("computer")) {
+            binding.statusText.setText(xTurn ? "Your turn (" + theme.playerOneSymbol + ")" : "Computer (" + theme.playerTwoSymbol + ")");
+        } else {
+            binding.statusText.setText(xTurn ? theme.playerOneSymbol + "'s turn" : theme.playerTwoSymbol + "'s turn");
+        }
+    }
+
+    private void playClickSound() {
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
+    }
+
+    // Restyles the screen, including marks already on the board
+    private void applyTheme(Theme newTheme) {
+        theme = newTheme;
+        binding.getRoot().setBackgroundResource(theme.backgroundRes);
+        for (int cell = 0; cell < QubicBoard.CELLS; cell++) {
+            buttons[cell].setText(theme.symbol(board.get(cell)));
+        }
+        if (!gameOver) {
+            updateStatus();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        SettingsStore.unsubscribe(settingsListener);
+        if (engineExecutor != null) {
+            engineExecutor.shutdown();
+            strategy.shutdown();
+            MoveStrategies.logMetrics("QubicGameActivity");
+        }
+        SoundEffects.release();
+        super.onDestroy();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.tictactoe;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * App-wide settings, read from preferences once on a background thread
+ * and then kept in memory as an immutable {@link Settings} snapshot, so
+ * reading them never touches preferences or allocates.
+ *
+ * Screens subscribe instead of polling: a listener gets the current
+ * settings at once and then every change, always on the main thread.
+ * Until loading finishes the defaults are current; listeners hear about
+ * the saved settings as soon as they are read. Changes are made on the
+ * main thread and saved asynchronously.
+ */
+final class SettingsStore {
+
+    static final String PREFERENCES = "TicTacToe";
+
+    private static final String KEY_THEME = "backgroundTheme";
+    private static final String KEY_MUSIC = "backgroundMusicEnabled";
+
+    interface Listener {
+        void onSettingsChanged(Settings settings);
+    }
+
+    static final class Settings {
+        static final Settings DEFAULTS = new Settings(Theme.SEASCAPE, false);
+
+        final Theme theme;
+        final boolean musicEnabled;
+
+        Settings(Theme theme, boolean musicEnabled) {
+            this.theme = theme;
+            this.musicEnabled = musicEnabled;
+        }
+    }
+
+    private static final AtomicReference<Settings> current = new AtomicReference<>(Settings.DEFAULTS);
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private static final Handler mainThread = new Handler(Looper.getMainLooper());
+    private static Context appContext;
+
+    private SettingsStore() {
+    }
+
+    // Starts reading the saved settings unless already started; safe to call repeatedly
+    static synchronized void load(Context context) {
+        if (appContext != null) return;
+        appContext = context.getApplicationContext();
+        Context loadContext = appContext;
+        Thread loader = new Thread(() -> {
+            SharedPreferences prefs = loadContext.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+            Settings loaded = new Settings(
+                    Theme.forName(prefs.getString(KEY_THEME, Theme.SEASCAPE.name)),
+                    prefs.getBoolean(KEY_MUSIC, false));
+            // A change made while loading is newer than what was saved
+            if (current.compareAndSet(Settings.DEFAULTS, loaded)) {
+                mainThread.post(() -> notifyListeners(loaded));
+            }
+        }, "settings-loader");
+        loader.start();
+    }
+
+    static Settings get() {
+        return current.get();
+    }
+
+    // Calls listener with the current settings now, then on every change until unsubscribed
+    static void subscribe(Context context, Listener listener) {
+        load(context);
+        listeners.add(listener);
+        listener.onSettingsChanged(current.get());
+    }
+
+    static void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    static void setTheme(Context context, Theme theme) {
+        Settings updated = new Settings(theme, current.get().musicEnabled);
+        update(context, updated);
+        preferences().edit()
+                .putString(KEY_THEME, theme.name)
+                // Left by older versions; the theme alone now decides symbols, colors and layout
+                .remove("symbolSet")
+                .remove("themeColors")
+                .remove("gameLayout")
+                .apply();
+    }
+
+    static void setMusicEnabled(Context context, boolean enabled) {
+        Settings updated = new Settings(current.get().theme, enabled);
+        update(context, updated);
+        preferences().edit().putBoolean(KEY_MUSIC, enabled).apply();
+    }
+
+    private static void update(Context context, Settings updated) {
+        load(context);
+        current.set(updated);
+        notifyListeners(updated);
+    }
+
+    private static synchronized SharedPreferences preferences() {
+        return appContext.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+    }
+
+    private static void notifyListeners(Settings settings) {
+        // A later change may already have been delivered
+        if (settings != current.get()) return;
+        for (Listener listener : listeners) {
+            listener.onSettingsChanged(settings);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.tictactoe;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.SoundPool;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The app's short sound effects, in one SoundPool shared by every screen.
+ * Screens acquire it in onCreate and release it in onDestroy; the pool is
+ * built and every effect loaded once, when the first screen acquires it,
+ * and released when the last one lets go. SoundPool decodes on its own
+ * thread, so loading never blocks the UI.
+ *
+ * Playback latency is tracked as the time spent in SoundPool.play and,
+ * for sounds asked for before they had loaded, the wait for loading.
+ * Main thread only.
+ */
+final class SoundEffects {
+
+    static final int CLICK = 0;
+    static final int STARTUP_CHIME = 1;
+
+    private static final int[] RESOURCES = {R.raw.button_click, R.raw.startup_chime};
+    private static final int MAX_STREAMS = 2;
+
+    private static SoundPool pool;
+    private static int references;
+    private static final int[] soundIds = new int[RESOURCES.length];
+    private static final boolean[] loaded = new boolean[RESOURCES.length];
+    private static final long[] loadStartNanos = new long[RESOURCES.length];
+    // Volume of a play waiting for its effect to load, or NaN if none
+    private static final float[] pendingVolume = new float[RESOURCES.length];
+    private static final long[] pendingSinceNanos = new long[RESOURCES.length];
+
+    private static final long[] loadNanos = new long[RESOURCES.length];
+    private static int plays;
+    private static int dropped;
+    private static long playNanos;
+    private static long maxPlayNanos;
+    private static long maxWaitNanos;
+
+    private SoundEffects() {
+    }
+
+    static void acquire(Context context) {
+        if (references++ > 0) return;
+        AudioAttributes attributes = new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_GAME)
+                .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                .build();
+        pool = new SoundPool.Builder().setMaxStreams(MAX_STREAMS).setAudioAttributes(attributes).build();
+        pool.setOnLoadCompleteListener(SoundEffects::onLoadComplete);
+        Arrays.fill(loaded, false);
+        Arrays.fill(pendingVolume, Float.NaN);
+        Context appContext = context.getApplicationContext();
+        for (int effect = 0; effect < RESOURCES.length; effect++) {
+            loadStartNanos[effect] = System.nanoTime();
+            soundIds[effect] = pool.load(appContext, RESOURCES[effect], 1);
+        }
+    }
+
+    static void release() {
+        if (--references > 0) return;
+        logMetrics("SoundEffects");
+        pool.release();
+        pool = null;
+    }
+
+    // Plays the effect if it has loaded; a click asked for before then is dropped
+    static void play(int effect, float volume) {
+        if (pool == null || !loaded[effect]) {
+            dropped++;
+            return;
+        }
+        start(effect, volume);
+    }
+
+    // Plays the effect now, or as soon as it has loaded
+    static void playWhenLoaded(int effect, float volume) {
+        if (pool == null) return;
+        if (loaded[effect]) {
+            start(effect, volume);
+        } else {
+            pendingVolume[effect] = volume;
+            pendingSinceNanos[effect] = System.nanoTime();
+        }
+    }
+
+    private static void onLoadComplete(SoundPool loadedPool, int soundId, int status) {
+        if (loadedPool != pool) return;
+        for (int effect = 0; effect < RESOURCES.length; effect++) {
+            if (soundIds[effect] != soundId) continue;
+            if (status != 0) {
+                android.util.Log.w("SoundEffects", "Could not load sound effect " + effect + ", status " + status);
+                return;
+            }
+            loaded[effect] = true;
+            loadNanos[effect] = System.nanoTime() - loadStartNanos[effect];
+            if (!Float.isNaN(pendingVolume[effect])) {
+                maxWaitNanos = Math.max(maxWaitNanos, System.nanoTime() - pendingSinceNanos[effect]);
+                start(effect, pendingVolume[effect]);
+                pendingVolume[effect] = Float.NaN;
+            }
+            return;
+        }
+    }
+
+    private static void start(int effect, float volume) {
+        long started = System.nanoTime();
+        pool.play(soundIds[effect], volume, volume, 1, 0, 1.0f);
+        long elapsed = System.nanoTime() - started;
+        plays++;
+        playNanos += elapsed;
+        maxPlayNanos = Math.max(maxPlayNanos, elapsed);
+    }
+
+    static int plays() {
+        return plays;
+    }
+
+    // Plays asked for before their effect had loaded
+    static int droppedPlays() {
+        return dropped;
+    }
+
+    static double averagePlayMicros() {
+        return plays == 0 ? 0 : playNanos / 1_000.0 / plays;
+    }
+
+    static double maxPlayMicros() {
+        return maxPlayNanos / 1_000.0;
+    }
+
+    // Longest a playWhenLoaded call waited for its effect to load
+    static double maxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    // Time from load to OnLoadComplete for the latest load, or 0 if it never loaded
+    static double loadMillis(int effect) {
+        return loadNanos[effect] / 1_000_000.0;
+    }
+
+    static void logMetrics(String tag) {
+        android.util.Log.d(tag, String.format(Locale.US,
+                "Sound effects: %d plays, %d dropped while loading, play %.1f us avg %.1f us max, "
+                        + "waited up to %.1f ms for loading, loaded click in %.1f ms, chime in %.1f ms",
+                plays, dropped, averagePlayMicros(), maxPlayMicros(), maxWaitMillis(),
+                loadMillis(CLICK), loadMillis(STARTUP_CHIME)));
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.tictactoe;
 
 import android.content.Intent;
-import android.media.SoundPool;
 import android.os.Bundle;
 import android.os.Handler;
 import androidx.appcompat.app.AppCompatActivity;
@@ -9,8 +8,6 @@ import com.example.tictactoe.databinding.ActivitySplashBinding;
 
 public class SplashActivity extends AppCompatActivity {
     private ActivitySplashBinding binding;
-    private SoundPool soundPool;
-    private int startupSoundId;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -18,14 +15,13 @@ public class SplashActivity extends AppCompatActivity {
         binding = ActivitySplashBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        // Initialize sound pool
-        soundPool = new SoundPool.Builder().setMaxStreams(1).build();
-        startupSoundId = soundPool.load(this, R.raw.startup_chime, 1);
+        // Loads every sound effect for the app; the chime plays the moment it has loaded
+        SoundEffects.acquire(this);
+        SoundEffects.playWhenLoaded(SoundEffects.STARTUP_CHIME, 0.8f);
 
-        // Wait a bit for sound to load, then play it
-        new Handler().postDelayed(() -> {
-            soundPool.play(startupSoundId, 0.8f, 0.8f, 1, 0, 1.0f);
-        }, 200);
+        // Read settings now so the home screen opens already themed
+        SettingsStore.load(this);
+        BackgroundMusic.init(this);
 
         // Start animation
         binding.loadingAnimation.setAlpha(0f);
@@ -45,10 +41,7 @@ public class SplashActivity extends AppCompatActivity {
 
     @Override
     protected void onDestroy() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
-        }
+        SoundEffects.release();
         super.onDestroy();
     }
 }
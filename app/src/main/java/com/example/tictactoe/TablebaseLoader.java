@@ -0,0 +1,45 @@
+package com.example.tictactoe;
+
+import android.content.Context;
+import com.example.tictactoe.engine.FourByFourTablebase;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Solves 4x4 four in a row into app storage the first time a 4x4 hard
+ * game asks for it, then maps the file, all on a background thread. The
+ * table is shared by every screen for the life of the process.
+ */
+final class TablebaseLoader {
+
+    private static final String FILE_NAME = "tablebase_4x4.bin";
+
+    private static volatile FourByFourTablebase tablebase;
+    private static Thread loader;
+
+    private TablebaseLoader() {
+    }
+
+    // Starts loading unless the table is loaded or loading; safe to call repeatedly
+    static synchronized void prepare(Context context) {
+        if (tablebase != null || loader != null) return;
+        File file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+        loader = new Thread(() -> {
+            try {
+                tablebase = FourByFourTablebase.openOrGenerate(file, Runtime.getRuntime().availableProcessors());
+            } catch (IOException e) {
+                android.util.Log.w("TablebaseLoader", "4x4 tablebase unavailable", e);
+                synchronized (TablebaseLoader.class) {
+                    loader = null; // Try again on the next prepare()
+                }
+            }
+        }, "tablebase-loader");
+        loader.setPriority(Thread.MIN_PRIORITY);
+        loader.start();
+    }
+
+    // The mapped table, or null while it is still being prepared
+    static FourByFourTablebase get() {
+        return tablebase;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.tictactoe;
+
+import com.example.tictactoe.engine.Board;
+
+/**
+ * One of the app's complete themes: the marks the two players place, the
+ * button colors and the screen background. Themes are constants, so a
+ * screen can read them on every move without allocating.
+ */
+final class Theme {
+
+    static final Theme SEASCAPE = new Theme("seascape", "Seascape", "★", "✿",
+            0xFFFF8C42, 0xFF9370DB, R.drawable.main_seascape_background); // Orange, purple
+    static final Theme FOREST = new Theme("forest", "Forest", "🐱", "🐶",
+            0xFF4CAF50, 0xFF8B4513, R.drawable.main_forest_background); // Green, brown
+    static final Theme DESERT = new Theme("desert", "Desert", "⚽", "🏀",
+            0xFFF4A460, 0xFFDEB887, R.drawable.main_desert_background); // Sandy, burlywood
+    static final Theme SPACE = new Theme("space", "Space", "X", "O",
+            0xFF9370DB, 0xFF191970, R.drawable.main_space_background); // Purple, midnight blue
+    static final Theme SUNSET = new Theme("sunset", "Sunset", "♥", "♠",
+            0xFFFF6B35, 0xFFC73E1D, R.drawable.main_sunset_background); // Sunset orange, deep orange
+    static final Theme OCEAN = new Theme("ocean", "Ocean", "1", "2",
+            0xFF0099CC, 0xFF006994, R.drawable.main_ocean_background); // Ocean blue, dark ocean blue
+
+    // In the order the theme picker lists them
+    static final Theme[] ALL = {SEASCAPE, FOREST, DESERT, SPACE, SUNSET, OCEAN};
+
+    // Saved in preferences as backgroundTheme
+    final String name;
+    final String displayName;
+
+    final String playerOneSymbol;
+    final String playerTwoSymbol;
+    final int buttonColor;
+    final int secondaryButtonColor;
+    final int backgroundRes;
+
+    private Theme(String name, String displayName, String playerOneSymbol, String playerTwoSymbol,
+                  int buttonColor, int secondaryButtonColor, int backgroundRes) {
+        this.name = name;
+        this.displayName = displayName;
+        this.playerOneSymbol = playerOneSymbol;
+        this.playerTwoSymbol = playerTwoSymbol;
+        this.buttonColor = buttonColor;
+        this.secondaryButtonColor = secondaryButtonColor;
+        this.backgroundRes = backgroundRes;
+    }
+
+    // The mark for a cell holding player, or "" for Board.EMPTY
+    String symbol(int player) {
+        if (player == Board.PLAYER_ONE) return playerOneSymbol;
+        if (player == Board.PLAYER_TWO) return playerTwoSymbol;
+        return "";
+    }
+
+    // Unknown names fall back to the default theme
+    static Theme forName(String name) {
+        for (Theme theme : ALL) {
+            if (theme.name.equals(name)) {
+                return theme;
+            }
+        }
+        return SEASCAPE;
+    }
+}
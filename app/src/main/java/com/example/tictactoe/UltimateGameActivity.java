@@ -0,0 +1,259 @@
+package com.example.tictactoe;
+
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.os.Handler;
+import android.util.TypedValue;
+import android.widget.Button;
+import android.widget.GridLayout;
+import androidx.appcompat.app.AppCompatActivity;
+import com.example.tictactoe.databinding.ActivityUltimateGameBinding;
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.EngineExecutor;
+import com.example.tictactoe.engine.MoveStrategy;
+import com.example.tictactoe.engine.Strategies;
+import com.example.tictactoe.engine.UltimateBoard;
+
+public class UltimateGameActivity extends AppCompatActivity {
+
+    private static final long COMPUTER_THINK_DELAY_MS = 500;
+
+    // Cell backgrounds: playable, waiting, won by each player, drawn
+    private static final int COLOR_PLAYABLE = 0xFFFFFFFF;
+    private static final int COLOR_INACTIVE = 0xFFB0C4DE;
+    private static final int COLOR_PLAYER_ONE_BOARD = 0xFFFFD39B;
+    private static final int COLOR_PLAYER_TWO_BOARD = 0xFFD8BFD8;
+    private static final int COLOR_DRAWN_BOARD = 0xFF9E9E9E;
+
+    private ActivityUltimateGameBinding binding;
+    private final UltimateBoard board = new UltimateBoard();
+    private Button[] buttons = new Button[UltimateBoard.CELLS];
+    private boolean gameOver = false;
+    private Theme theme = Theme.SEASCAPE;
+    private final SettingsStore.Listener settingsListener = settings -> applyTheme(settings.theme);
+    private String gameMode = "friend"; // "friend" or "computer"
+    private String difficulty = "hard"; // "easy", "medium", or "hard"
+    private Handler handler = new Handler();
+    private EngineExecutor engineExecutor;
+    private MoveStrategy<UltimateBoard> strategy;
+    private boolean computerThinking = false;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityUltimateGameBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        gameMode = getIntent().getStringExtra("gameMode");
+        if (gameMode == null) {
+            gameMode = "friend";
+        }
+
+        difficulty = getIntent().getStringExtra("difficulty");
+        if (difficulty == null) {
+            difficulty = "hard";
+        }
+
+        if (gameMode.equals("computer")) {
+            engineExecutor = new EngineExecutor(handler::post);
+            // Kept for the whole activity: positions recur between moves and games
+            strategy = MoveStrategies.registry().create(
+                    Strategies.forDifficulty(Strategies.ULTIMATE, difficulty), UltimateBoard.class);
+        }
+
+        // Sound effects are shared by every screen and loaded once
+        SoundEffects.acquire(this);
+
+        buildGrid();
+
+        binding.resetButton.setOnClickListener(v -> {
+            playClickSound();
+            resetGame();
+        });
+        binding.backButton.setOnClickListener(v -> {
+            playClickSound();
+            finish();
+        });
+
+        refreshBoard();
+        // Applies the saved theme and the status now, and again whenever the theme changes
+        SettingsStore.subscribe(this, settingsListener);
+    }
+
+    private void buildGrid() {
+        GridLayout grid = binding.grid;
+        grid.setColumnCount(9);
+        grid.setRowCount(9);
+
+        // Fit the whole board to the screen width, minus the layout padding
+        float density = getResources().getDisplayMetrics().density;
+        int available = getResources().getDisplayMetrics().widthPixels - (int) (48 * density);
+        int gap = Math.max(2, available / 54); // Extra space between sub-boards
+        int cellSize = (available - 2 * gap) / 9;
+        int margin = Math.max(1, cellSize / 24);
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                // Sub-board from the 3x3 block, local cell from the position inside it
+                int cell = ((row / 3) * 3 + col / 3) * 9 + (row % 3) * 3 + col % 3;
+
+                Button button = new Button(this);
+                button.setTextColor(0xFF006994);
+                button.setTypeface(Typeface.DEFAULT_BOLD);
+                button.setTextSize(TypedValue.COMPLEX_UNIT_PX, cellSize * 0.5f);
+                button.setAllCaps(false);
+                button.setPadding(0, 0, 0, 0);
+                button.setMinWidth(0);
+                button.setMinimumWidth(0);
+                button.setMinHeight(0);
+                button.setMinimumHeight(0);
+
+                GridLayout.LayoutParams params = new GridLayout.LayoutParams();
+                params.width = cellSize - 2 * margin;
+                params.height = cellSize - 2 * margin;
+                params.setMargins(margin + (col % 3 == 0 && col > 0 ? gap : 0),
+                        margin + (row % 3 == 0 && row > 0 ? gap : 0), margin, margin);
+                grid.addView(button, params);
+
+                button.setOnClickListener(v -> onCellClicked(cell));
+                buttons[cell] = button;
+            }
+        }
+    }
+
+    private void onCellClicked(int cell) {
+        if (gameOver || computerThinking) return;
+        if (!board.isLegal(cell)) return;
+
+        playMove(cell);
+        if (checkGameOver()) return;
+        updateStatus();
+
+        if (gameMode.equals("computer")) {
+            // Computer's turn: search a snapshot off the main thread
+            computerThinking = true;
+            UltimateBoard snapshot = board.copy();
+            long deadlineNanos = System.nanoTime() + getThinkBudgetMillis() * 1_000_000L;
+            engineExecutor.submit(() -> strategy.chooseMove(snapshot, Board.PLAYER_TWO, deadlineNanos),
+                    COMPUTER_THINK_DELAY_MS, this::applyComputerMove);
+        }
+    }
+
+    private void applyComputerMove(int move) {
+        computerThinking = false;
+        if (gameOver || move == -1) return;
+
+        playMove(move);
+        if (checkGameOver()) return;
+        updateStatus();
+    }
+
+    private void playMove(int cell) {
+        buttons[cell].setText(board.sideToMove() == Board.PLAYER_ONE ? theme.playerOneSymbol : theme.playerTwoSymbol);
+        board.place(cell);
+        refreshBoard();
+    }
+
+    private boolean checkGameOver() {
+        if (!board.isOver()) {
+            return false;
+        }
+        int winner = board.winner();
+        if (winner != Board.EMPTY) {
+            endGame(winner == Board.PLAYER_ONE ? theme.playerOneSymbol + " Wins!" : theme.playerTwoSymbol + " Wins!");
+        } else {
+            endGame("Draw!");
+        }
+        return true;
+    }
+
+    // Colors each cell by its sub-board: decided, playable now, or waiting
+    private void refreshBoard() {
+        for (int cell = 0; cell < UltimateBoard.CELLS; cell++) {
+            int status = board.boardStatus(UltimateBoard.boardOf(cell));
+            int color;
+            if (status == Board.PLAYER_ONE) {
+                color = COLOR_PLAYER_ONE_BOARD;
+            } else if (status == Board.PLAYER_TWO) {
+                color = COLOR_PLAYER_TWO_BOARD;
+            } else if (status == UltimateBoard.DRAWN) {
+                color = COLOR_DRAWN_BOARD;
+            } else if (!board.isOver() && (board.nextBoard() == UltimateBoard.ANY_BOARD
+                    || board.nextBoard() == UltimateBoard.boardOf(cell))) {
+                color = COLOR_PLAYABLE;
+            } else {
+                color = COLOR_INACTIVE;
+            }
+            buttons[cell].setBackgroundColor(color);
+        }
+    }
+
+    // Wall-clock budget per computer move, scaled by difficulty
+    private long getThinkBudgetMillis() {
+        switch (difficulty) {
+            case "easy": return 100;
+            case "medium": return 300;
+            default: return 1000;
+        }
+    }
+
+    private void endGame(String message) {
+        gameOver = true;
+        binding.statusText.setText(message);
+        binding.confettiView.setVisibility(android.view.View.VISIBLE);
+        binding.confettiView.startConfetti();
+    }
+
+    private void resetGame() {
+        if (engineExecutor != null) {
+            engineExecutor.cancel();
+        }
+        computerThinking = false;
+        board.clear();
+        for (Button button : buttons) {
+            button.setText("");
+        }
+        gameOver = false;
+        binding.confettiView.stopConfetti();
+        binding.confettiView.setVisibility(android.view.View.GONE);
+        refreshBoard();
+        updateStatus();
+    }
+
+    private void updateStatus() {
+        boolean playerOneTurn = board.sideToMove() == Board.PLAYER_ONE;
+        if (gameMode.equals("computer")) {
+            binding.statusText.setText(playerOneTurn ? "Your turn (" + theme.playerOneSymbol + ")" : "Computer (" + theme.playerTwoSymbol + ")");
+        } else {
+            binding.statusText.setText(playerOneTurn ? theme.playerOneSymbol + "'s turn" : theme.playerTwoSymbol + "'s turn");
+        }
+    }
+
+    private void playClickSound() {
+        SoundEffects.play(SoundEffects.CLICK, 0.5f);
+    }
+
+    // Restyles the screen, including marks already on the board
+    private void applyTheme(Theme newTheme) {
+        theme = newTheme;
+        binding.getRoot().setBackgroundResource(theme.backgroundRes);
+        for (int cell = 0; cell < UltimateBoard.CELLS; cell++) {
+            buttons[cell].setText(theme.symbol(board.get(cell)));
+        }
+        if (!gameOver) {
+            updateStatus();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        SettingsStore.unsubscribe(settingsListener);
+        if (engineExecutor != null) {
+            engineExecutor.shutdown();
+            strategy.shutdown();
+            MoveStrategies.logMetrics("UltimateGameActivity");
+        }
+        SoundEffects.release();
+        super.onDestroy();
+    }
+}
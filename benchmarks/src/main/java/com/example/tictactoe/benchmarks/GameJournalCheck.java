@@ -0,0 +1,163 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.GameJournal;
+import com.example.tictactoe.engine.GameJournalReader;
+import com.example.tictactoe.engine.GameRecord;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Writes seeded random games to a {@link GameJournal}, streams them back
+ * with a {@link GameJournalReader} and fails unless every game comes back
+ * exactly as it was played.
+ *
+ * The expected games are replayed from the same seed rather than kept, so
+ * the check runs in constant memory however many games it writes. Prints
+ * bytes per game, write and read rates and the bytes the reader allocated.
+ * Finally cuts a byte off the last record, as a crash mid-write would, and
+ * checks that reopening the journal drops only that record.
+ *
+ * Usage: GameJournalCheck [games]
+ */
+public final class GameJournalCheck {
+
+    private static final int DEFAULT_GAMES = 500_000;
+    private static final long SEED = 2024;
+
+    private static final Board board = new Board();
+
+    private GameJournalCheck() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        File file = File.createTempFile("games", ".journal");
+        file.delete(); // The journal writes its own header
+        try {
+            long start = System.nanoTime();
+            GameJournal journal = new GameJournal(file);
+            GameRecord record = new GameRecord();
+            Random random = new Random(SEED);
+            for (int i = 0; i < games; i++) {
+                randomGame(random, record);
+                journal.append(record);
+            }
+            journal.close().get();
+            long writeNanos = System.nanoTime() - start;
+            if (journal.failure() != null) fail("Journal failed: " + journal.failure());
+
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            com.sun.management.ThreadMXBean threads = bean instanceof com.sun.management.ThreadMXBean
+                    ? (com.sun.management.ThreadMXBean) bean : null;
+            long threadId = Thread.currentThread().getId();
+            long allocatedBefore = threads == null ? 0 : threads.getThreadAllocatedBytes(threadId);
+            start = System.nanoTime();
+            long read = verify(file, new Random(SEED), games);
+            long readNanos = System.nanoTime() - start;
+            long allocated = threads == null ? -1 : threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            if (read != games) fail("Read " + read + " of " + games + " games");
+
+            System.out.printf(Locale.US, "%,d games in %,d bytes (%.2f bytes per game)%n",
+                    games, file.length(), (double) file.length() / games);
+            System.out.printf(Locale.US, "write %,.0f games/s, read %,.0f games/s, reader allocated %,d bytes%n",
+                    games * 1e9 / writeNanos, games * 1e9 / readNanos, allocated);
+
+            checkTornWrite(file, games);
+            System.out.println("Torn final record dropped on reopen; all other games intact");
+        } finally {
+            file.delete();
+        }
+    }
+
+    // Random legal moves by random modes and difficulties; some games are abandoned early
+    private static void randomGame(Random random, GameRecord record) {
+        int mode = random.nextInt(2);
+        record.reset(mode, mode == GameRecord.MODE_FRIEND ? GameRecord.DIFFICULTY_NONE : 1 + random.nextInt(3));
+        board.clear();
+        int player = Board.PLAYER_ONE;
+        int stopAfter = random.nextInt(4) == 0 ? random.nextInt(Board.CELLS) : Board.CELLS;
+        while (board.winner() == Board.EMPTY && !board.isFull() && board.moveCount() < stopAfter) {
+            int cell = board.emptyCell(random.nextInt(Integer.bitCount(board.emptyMask())));
+            board.place(cell, player);
+            record.addMove(cell);
+            player = Board.opponent(player);
+        }
+        record.setResultFromWinner(board.winner(), board.isFull());
+    }
+
+    // Streams the journal, comparing each game with the next one from random; returns games read
+    private static long verify(File file, Random random, int games) throws IOException {
+        GameRecord expected = new GameRecord();
+        GameRecord actual = new GameRecord();
+        long read = 0;
+        try (GameJournalReader reader = new GameJournalReader(file)) {
+            while (reader.next(actual)) {
+                if (read == games) fail("More games than were written");
+                randomGame(random, expected);
+                if (!same(expected, actual)) fail("Game " + read + " differs");
+                read++;
+            }
+            if (reader.damaged()) fail("Journal damaged after " + read + " games");
+        }
+        return read;
+    }
+
+    private static void checkTornWrite(File file, int games) throws IOException, InterruptedException, ExecutionException {
+        // Every record takes at least two bytes, so losing one cuts the last record short
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.setLength(file.length() - 1);
+        }
+        Random random = new Random(SEED);
+        GameRecord skipped = new GameRecord();
+        for (int i = 0; i < games; i++) {
+            randomGame(random, skipped);
+        }
+
+        GameJournal journal = new GameJournal(file);
+        GameRecord extra = new GameRecord();
+        randomGame(random, extra);
+        journal.append(extra);
+        journal.close().get();
+        if (journal.failure() != null) fail("Journal failed on reopen: " + journal.failure());
+
+        random = new Random(SEED);
+        GameRecord expected = new GameRecord();
+        GameRecord actual = new GameRecord();
+        long read = 0;
+        try (GameJournalReader reader = new GameJournalReader(file)) {
+            while (reader.next(actual)) {
+                if (read < games - 1) {
+                    randomGame(random, expected);
+                } else {
+                    expected.copyFrom(extra);
+                }
+                if (!same(expected, actual)) fail("Game " + read + " differs after reopening");
+                read++;
+            }
+            if (reader.damaged()) fail("Journal still damaged after reopening");
+        }
+        if (read != games) fail("Read " + read + " games after reopening");
+    }
+
+    private static boolean same(GameRecord a, GameRecord b) {
+        if (a.mode() != b.mode() || a.difficulty() != b.difficulty()
+                || a.result() != b.result() || a.moveCount() != b.moveCount()) {
+            return false;
+        }
+        for (int i = 0; i < a.moveCount(); i++) {
+            if (a.move(i) != b.move(i)) return false;
+        }
+        return true;
+    }
+
+    private static void fail(String message) {
+        System.out.println(message);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.tictactoe.benchmarks;
+
+/**
+ * The int[9] board code from MainActivity before the engine module existed,
+ * kept unchanged as a reference point for the engine benchmarks.
+ */
+final class LegacyBoard {
+
+    final int[] board;
+
+    LegacyBoard(int[] cells) {
+        this.board = cells.clone();
+    }
+
+    int checkWinner() {
+        int[][] lines = {
+            {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
+            {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
+            {0, 4, 8}, {2, 4, 6}
+        };
+
+        for (int[] line : lines) {
+            int a = line[0], b = line[1], c = line[2];
+            if (board[a] != 0 && board[a] == board[b] && board[a] == board[c]) {
+                return board[a];
+            }
+        }
+        return 0;
+    }
+
+    boolean isBoardFull() {
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // hardMove() without the UI updates: returns the chosen cell
+    int hardMove() {
+        int bestScore = Integer.MIN_VALUE;
+        int bestMove = -1;
+
+        for (int i = 0; i < 9; i++) {
+            if (board[i] == 0) {
+                board[i] = 2;
+                int score = minimax(0, false);
+                board[i] = 0;
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = i;
+                }
+            }
+        }
+        return bestMove;
+    }
+
+    int minimax(int depth, boolean isMaximizing) {
+        int winner = checkWinner();
+        if (winner == 2) return 10 - depth; // Computer wins
+        if (winner == 1) return depth - 10; // Player wins
+        if (isBoardFull()) return 0; // Draw
+
+        if (isMaximizing) {
+            int bestScore = Integer.MIN_VALUE;
+            for (int i = 0; i < 9; i++) {
+                if (board[i] == 0) {
+                    board[i] = 2;
+                    int score = minimax(depth + 1, false);
+                    board[i] = 0;
+                    bestScore = Math.max(score, bestScore);
+                }
+            }
+            return bestScore;
+        } else {
+            int bestScore = Integer.MAX_VALUE;
+            for (int i = 0; i < 9; i++) {
+                if (board[i] == 0) {
+                    board[i] = 1;
+                    int score = minimax(depth + 1, true);
+                    board[i] = 0;
+                    bestScore = Math.min(score, bestScore);
+                }
+            }
+            return bestScore;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.ParallelQubicSearch;
+import com.example.tictactoe.engine.QubicBoard;
+import com.example.tictactoe.engine.QubicSearch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Speedup of the root-split Qubic search against the number of pool
+ * threads: divide the sequential score by each threads score. Runs on the
+ * same quiet mid-game position as {@link QubicBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSearchBenchmark {
+
+    @Param({"6"})
+    public int depth;
+
+    private QubicBoard board;
+    private final QubicSearch sequential = new QubicSearch();
+
+    @Setup
+    public void setUp() {
+        board = QubicBenchmark.midGame();
+    }
+
+    @State(Scope.Thread)
+    public static class Pool {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        ParallelQubicSearch search;
+
+        @Setup
+        public void setUp() {
+            search = new ParallelQubicSearch(threads);
+        }
+
+        @TearDown
+        public void tearDown() {
+            search.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int sequential() {
+        return sequential.search(board, Board.PLAYER_ONE, QubicSearch.NO_TIME_LIMIT, depth);
+    }
+
+    @Benchmark
+    public int parallel(Pool pool) {
+        return pool.search.search(board, Board.PLAYER_ONE, QubicSearch.NO_TIME_LIMIT, depth);
+    }
+}
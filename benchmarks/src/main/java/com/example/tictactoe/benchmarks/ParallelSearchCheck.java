@@ -0,0 +1,88 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.ParallelQubicSearch;
+import com.example.tictactoe.engine.QubicBoard;
+import com.example.tictactoe.engine.QubicSearch;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Asserts that the parallel Qubic search agrees with the sequential one,
+ * then prints its speedup for each thread count.
+ *
+ * Every position from a few seeded random games is searched to each depth
+ * by both, and the moves and scores must match. Exits with status 1 on
+ * any difference.
+ *
+ * Usage: ParallelSearchCheck [maxThreads] [speedupDepth]
+ */
+public final class ParallelSearchCheck {
+
+    private static final int GAMES = 4;
+    private static final int CHECK_DEPTH = 4;
+
+    private ParallelSearchCheck() {
+    }
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int speedupDepth = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+
+        QubicSearch sequential = new QubicSearch();
+        int mismatches = 0;
+        long positions = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ParallelQubicSearch parallel = new ParallelQubicSearch(threads);
+            Random random = new Random(11);
+            for (int game = 0; game < GAMES; game++) {
+                QubicBoard board = new QubicBoard();
+                int player = Board.PLAYER_ONE;
+                while (board.winner() == Board.EMPTY && !board.isFull()) {
+                    for (int depth = 1; depth <= CHECK_DEPTH; depth++) {
+                        positions++;
+                        int expected = sequential.search(board, player, QubicSearch.NO_TIME_LIMIT, depth);
+                        int move = parallel.search(board, player, QubicSearch.NO_TIME_LIMIT, depth);
+                        if (move != expected || parallel.score() != sequential.score()) {
+                            mismatches++;
+                        }
+                    }
+                    board.place(randomEmptyCell(board, random), player);
+                    player = Board.opponent(player);
+                }
+            }
+            parallel.shutdown();
+        }
+        System.out.printf(Locale.US, "%,d searches compared: %d disagreements in move or score%n",
+                positions, mismatches);
+
+        QubicBoard position = QubicBenchmark.midGame();
+        sequential.search(position, Board.PLAYER_ONE, QubicSearch.NO_TIME_LIMIT, speedupDepth);
+        sequential.search(position, Board.PLAYER_ONE, QubicSearch.NO_TIME_LIMIT, speedupDepth);
+        long baseline = sequential.elapsedNanos();
+        System.out.printf(Locale.US, "depth %d, %d cores: sequential %.1f ms  %,d nodes%n", speedupDepth,
+                Runtime.getRuntime().availableProcessors(), baseline / 1e6, sequential.nodes());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ParallelQubicSearch parallel = new ParallelQubicSearch(threads);
+            // The first search warms up the pool threads and their searchers
+            parallel.search(position, Board.PLAYER_ONE, QubicSearch.NO_TIME_LIMIT, speedupDepth);
+            parallel.search(position, Board.PLAYER_ONE, QubicSearch.NO_TIME_LIMIT, speedupDepth);
+            System.out.printf(Locale.US, "%2d threads: %8.1f ms  speedup %.2fx  %,d nodes%n", threads,
+                    parallel.elapsedNanos() / 1e6, (double) baseline / parallel.elapsedNanos(), parallel.nodes());
+            parallel.shutdown();
+        }
+
+        if (mismatches != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int randomEmptyCell(QubicBoard board, Random random) {
+        long empty = board.emptyMask();
+        for (int skip = random.nextInt(Long.bitCount(empty)); skip > 0; skip--) {
+            empty &= empty - 1;
+        }
+        return Long.numberOfTrailingZeros(empty);
+    }
+}
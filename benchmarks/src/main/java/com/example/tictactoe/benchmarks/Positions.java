@@ -0,0 +1,44 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+
+/**
+ * Fixed 3x3 positions shared by the benchmarks, all with the computer
+ * ({@link Board#PLAYER_TWO}) to move and no winner yet.
+ */
+final class Positions {
+
+    static final String EMPTY = "empty";
+    static final String MID_GAME = "midGame";
+    static final String NEAR_TERMINAL = "nearTerminal";
+
+    private Positions() {
+    }
+
+    static Board board(String name) {
+        Board board = new Board();
+        int[] cells = cells(name);
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != Board.EMPTY) {
+                board.place(i, cells[i]);
+            }
+        }
+        return board;
+    }
+
+    // Cell values in the old int[9] layout: 0 empty, 1 human, 2 computer
+    static int[] cells(String name) {
+        switch (name) {
+            case EMPTY:
+                return new int[]{0, 0, 0, 0, 0, 0, 0, 0, 0};
+            case MID_GAME:
+                // Human holds the center and a corner; the computer must block
+                return new int[]{2, 0, 1, 0, 1, 0, 0, 0, 0};
+            case NEAR_TERMINAL:
+                // Two empty cells left
+                return new int[]{1, 1, 2, 2, 2, 1, 1, 0, 0};
+            default:
+                throw new IllegalArgumentException("Unknown position: " + name);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.QubicBoard;
+import com.example.tictactoe.engine.QubicSearch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 4x4x4 Qubic: the 76-line win checks and threat scan the search runs at
+ * every node, and whole searches at fixed depths, to compare against the
+ * app's 500 ms think time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QubicBenchmark {
+
+    // A quiet mid-game position: six marks each, no open threats or forced win
+    private static final int[] PLAYER_ONE_CELLS = {46, 37, 49, 7, 21, 43};
+    private static final int[] PLAYER_TWO_CELLS = {23, 13, 48, 12, 40, 3};
+
+    private QubicBoard board;
+    private long playerOneMask;
+    private int emptyCell;
+
+    @Setup
+    public void setUp() {
+        board = midGame();
+        playerOneMask = board.mask(Board.PLAYER_ONE);
+        emptyCell = Long.numberOfTrailingZeros(board.emptyMask());
+    }
+
+    static QubicBoard midGame() {
+        QubicBoard board = new QubicBoard();
+        for (int i = 0; i < PLAYER_ONE_CELLS.length; i++) {
+            board.place(PLAYER_ONE_CELLS[i], Board.PLAYER_ONE);
+            board.place(PLAYER_TWO_CELLS[i], Board.PLAYER_TWO);
+        }
+        return board;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean hasLineAll76() {
+        return QubicBoard.hasLine(playerOneMask);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int placeAndUndo() {
+        // place() checks only the lines through the new mark
+        board.place(emptyCell, Board.PLAYER_ONE);
+        int winner = board.winner();
+        board.undo(emptyCell);
+        return winner;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long winningMoves() {
+        return board.winningMoves(Board.PLAYER_ONE);
+    }
+
+    @State(Scope.Thread)
+    public static class Search {
+        @Param({"3", "4", "5", "6"})
+        public int depth;
+
+        QubicBoard board;
+        final QubicSearch search = new QubicSearch();
+
+        @Setup
+        public void setUp() {
+            board = midGame();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int searchToDepth(Search state) {
+        return state.search.search(state.board, Board.PLAYER_ONE, QubicSearch.NO_TIME_LIMIT, state.depth);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.AlphaBetaSearch;
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.TranspositionTable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full-depth searches for the computer's move: the old minimax() against
+ * alpha-beta with and without a transposition table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({Positions.EMPTY, Positions.MID_GAME, Positions.NEAR_TERMINAL})
+    public String position;
+
+    private Board board;
+    private LegacyBoard legacy;
+    private AlphaBetaSearch plainSearch;
+    private TranspositionTable table;
+    private AlphaBetaSearch tableSearch;
+
+    @Setup
+    public void setUp() {
+        board = Positions.board(position);
+        legacy = new LegacyBoard(Positions.cells(position));
+        plainSearch = new AlphaBetaSearch();
+        table = new TranspositionTable(1 << 12);
+        tableSearch = new AlphaBetaSearch(table);
+    }
+
+    @Benchmark
+    public int legacyMinimax() {
+        return legacy.hardMove();
+    }
+
+    @Benchmark
+    public int alphaBeta() {
+        return plainSearch.search(board, Board.PLAYER_TWO);
+    }
+
+    @Benchmark
+    public int alphaBetaWithTable() {
+        // Start cold, as the first search of a game would
+        table.clear();
+        return tableSearch.search(board, Board.PLAYER_TWO);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.PerfectPlayTable;
+import com.example.tictactoe.engine.Strategies;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One computer move per difficulty, exactly as the game makes it, and the
+ * scores of every empty cell as the hint overlay shows them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+    @Param({Positions.EMPTY, Positions.MID_GAME, Positions.NEAR_TERMINAL})
+    public String position;
+
+    private Board board;
+    private Random random;
+    private final int[] scores = new int[Board.CELLS];
+
+    @Setup
+    public void setUp() {
+        board = Positions.board(position);
+        random = new Random(42);
+        // Load the perfect-play table outside the measurement
+        Strategies.hardMove(board);
+    }
+
+    @Benchmark
+    public int easyMove() {
+        return Strategies.easyMove(board, random);
+    }
+
+    @Benchmark
+    public int mediumMove() {
+        return Strategies.mediumMove(board, Board.PLAYER_TWO, random);
+    }
+
+    @Benchmark
+    public int hardMove() {
+        return Strategies.hardMove(board);
+    }
+
+    @Benchmark
+    public int[] scoreEveryMove() {
+        PerfectPlayTable.scoreMoves(board, scores);
+        return scores;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.MoveStrategy;
+import com.example.tictactoe.engine.StrategyMetrics;
+import com.example.tictactoe.engine.StrategyRegistry;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Plays every registered 3x3 strategy against every other through a
+ * {@link StrategyRegistry}, with the JVM's per-thread allocation counter
+ * plugged in, and writes the resulting metrics as JSON.
+ *
+ * Usage: StrategyMetricsReport [outputFile] [rounds]
+ */
+public final class StrategyMetricsReport {
+
+    private StrategyMetricsReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File output = args.length > 0 ? new File(args[0]) : null;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new IllegalStateException("Thread allocation counters are not available on this JVM");
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long threadId = Thread.currentThread().getId();
+        StrategyMetrics metrics = new StrategyMetrics(() -> threads.getThreadAllocatedBytes(threadId));
+        StrategyRegistry registry = StrategyRegistry.withDefaults(new Random(17), metrics);
+
+        List<String> names = registry.names(Board.class);
+        List<MoveStrategy<Board>> strategies = new ArrayList<>();
+        for (String name : names) {
+            strategies.add(registry.create(name));
+        }
+        // A warm-up pass, then the measured one
+        playRounds(strategies, rounds);
+        metrics.reset();
+        playRounds(strategies, rounds);
+
+        for (String name : names) {
+            System.out.printf(Locale.US, "%-10s %,9d moves  %,10.0f ns/move%n",
+                    name, metrics.calls(name), metrics.averageThinkNanos(name));
+        }
+        String json = metrics.toJson();
+        if (output == null) {
+            System.out.println(json);
+            return;
+        }
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Unable to create " + parent);
+        }
+        try (Writer writer = new OutputStreamWriter(new java.io.FileOutputStream(output), StandardCharsets.UTF_8)) {
+            writer.write(json);
+        }
+        System.out.println("Metrics written to " + output);
+    }
+
+    private static void playRounds(List<MoveStrategy<Board>> strategies, int rounds) {
+        Board board = new Board();
+        for (int round = 0; round < rounds; round++) {
+            for (MoveStrategy<Board> first : strategies) {
+                for (MoveStrategy<Board> second : strategies) {
+                    board.clear();
+                    int player = Board.PLAYER_ONE;
+                    while (board.winner() == Board.EMPTY && !board.isFull()) {
+                        MoveStrategy<Board> strategy = player == Board.PLAYER_ONE ? first : second;
+                        board.place(strategy.chooseMove(board, player, MoveStrategy.NO_DEADLINE), player);
+                        player = Board.opponent(player);
+                    }
+                }
+            }
+        }
+    }
+}
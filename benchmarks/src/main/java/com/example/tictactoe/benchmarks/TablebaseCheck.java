@@ -0,0 +1,130 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.FourByFourTablebase;
+import com.example.tictactoe.engine.GridBoard;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Builds the 4x4 tablebase, times the retrograde solver at each thread
+ * count, and checks the memory-mapped table against an independent
+ * search.
+ *
+ * Results for positions from seeded random games are compared with a
+ * plain negamax once few enough cells are left to search them fully, and
+ * the table's own move choice must never lose to random play. Exits with
+ * status 1 on any disagreement.
+ *
+ * Usage: TablebaseCheck [maxThreads]
+ */
+public final class TablebaseCheck {
+
+    private static final int SAMPLED_GAMES = 2_000;
+    private static final int SEARCHED_EMPTIES = 8;
+    private static final String[] RESULT_NAMES = {"?", "win", "loss", "draw"};
+
+    private TablebaseCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+        File file = File.createTempFile("tablebase_4x4", ".bin");
+        file.deleteOnExit();
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long start = System.nanoTime();
+            FourByFourTablebase.generate(file, threads);
+            System.out.printf(Locale.US, "%2d threads: solved %,d positions in %.2f s%n", threads,
+                    FourByFourTablebase.ENTRIES, (System.nanoTime() - start) / 1e9);
+        }
+        System.out.printf(Locale.US, "table file: %,d bytes, %d cores%n", file.length(),
+                Runtime.getRuntime().availableProcessors());
+
+        FourByFourTablebase tablebase = FourByFourTablebase.open(file);
+        System.out.printf(Locale.US, "empty board: %s in %d plies%n",
+                RESULT_NAMES[tablebase.result(0, 0)], tablebase.distance(0, 0));
+        int failures = 0;
+        Random random = new Random(16);
+        GridBoard board = new GridBoard(FourByFourTablebase.SIZE, FourByFourTablebase.SIZE);
+        long compared = 0;
+        for (int game = 0; game < SAMPLED_GAMES; game++) {
+            board.clear();
+            int player = Board.PLAYER_ONE;
+            while (board.winner() == Board.EMPTY && !board.isFull()) {
+                int empties = board.cellCount() - board.moveCount();
+                if (empties <= SEARCHED_EMPTIES) {
+                    compared++;
+                    int expected = Integer.signum(negamax(board, player));
+                    int result = tablebase.result(mask(board, Board.PLAYER_ONE), mask(board, Board.PLAYER_TWO));
+                    int actual = result == FourByFourTablebase.WIN ? 1 : result == FourByFourTablebase.LOSS ? -1 : 0;
+                    if (actual != expected) {
+                        failures++;
+                    }
+                }
+                board.place(randomEmptyCell(board, random), player);
+                player = Board.opponent(player);
+            }
+        }
+        System.out.printf(Locale.US, "%,d positions checked against negamax, %d disagreements%n", compared, failures);
+
+        // The table plays both seats against random moves and must never lose
+        int losses = 0;
+        for (int game = 0; game < SAMPLED_GAMES; game++) {
+            int tableSide = game % 2 == 0 ? Board.PLAYER_ONE : Board.PLAYER_TWO;
+            board.clear();
+            int player = Board.PLAYER_ONE;
+            while (board.winner() == Board.EMPTY && !board.isFull()) {
+                int move = player == tableSide ? tablebase.bestMove(board) : randomEmptyCell(board, random);
+                board.place(move, player);
+                player = Board.opponent(player);
+            }
+            if (board.winner() == Board.opponent(tableSide)) {
+                losses++;
+            }
+        }
+        System.out.printf(Locale.US, "%,d games against random play, %d lost%n", SAMPLED_GAMES, losses);
+
+        if (failures != 0 || losses != 0) {
+            System.exit(1);
+        }
+    }
+
+    // +1 if player to move wins, -1 if they lose, 0 for a draw
+    private static int negamax(GridBoard board, int player) {
+        if (board.isFull()) {
+            return 0;
+        }
+        int best = -1;
+        for (int cell = 0; cell < board.cellCount() && best < 1; cell++) {
+            if (!board.isEmpty(cell)) {
+                continue;
+            }
+            board.place(cell, player);
+            int value = board.winner() == player ? 1 : -negamax(board, Board.opponent(player));
+            board.undo(cell);
+            best = Math.max(best, value);
+        }
+        return best;
+    }
+
+    private static int mask(GridBoard board, int player) {
+        int mask = 0;
+        for (int cell = 0; cell < board.cellCount(); cell++) {
+            if (board.get(cell) == player) mask |= 1 << cell;
+        }
+        return mask;
+    }
+
+    private static int randomEmptyCell(GridBoard board, Random random) {
+        int skip = random.nextInt(board.cellCount() - board.moveCount());
+        for (int cell = 0; ; cell++) {
+            if (board.isEmpty(cell) && skip-- == 0) {
+                return cell;
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.Strategies;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless self-play: every difficulty plays every other, from both seats,
+ * and the results are printed as win/draw/loss matrices.
+ *
+ * Games are split across worker threads. Each worker owns its board, its
+ * counters and a Random seeded from the run seed and its index, so workers
+ * share nothing while playing and a run is reproducible for a given seed
+ * and thread count. Exits with status 1 if "hard" ever loses.
+ *
+ * Usage: TournamentRunner [gamesPerPairing] [threads] [seed]
+ */
+public final class TournamentRunner {
+
+    static final String[] STRATEGIES = {Strategies.EASY, Strategies.MEDIUM, Strategies.HARD};
+
+    private static final int FIRST_WINS = 0;
+    private static final int DRAW = 1;
+    private static final int SECOND_WINS = 2;
+
+    private TournamentRunner() {
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        long gamesPerPairing = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 20240101L;
+
+        // Load the perfect-play table before the clock starts
+        Strategies.hardMove(new Board());
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<long[][][]>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int worker = 0; worker < threads; worker++) {
+            // Spread the games evenly; the first workers take the remainder
+            long games = gamesPerPairing / threads + (worker < gamesPerPairing % threads ? 1 : 0);
+            futures.add(pool.submit(new Worker(games, seed + 0x9E3779B97F4A7C15L * worker)));
+        }
+
+        long[][][] results = new long[STRATEGIES.length][STRATEGIES.length][3];
+        for (Future<long[][][]> future : futures) {
+            long[][][] partial = future.get();
+            for (int first = 0; first < STRATEGIES.length; first++) {
+                for (int second = 0; second < STRATEGIES.length; second++) {
+                    for (int outcome = 0; outcome < 3; outcome++) {
+                        results[first][second][outcome] += partial[first][second][outcome];
+                    }
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        pool.shutdown();
+
+        long totalGames = gamesPerPairing * STRATEGIES.length * STRATEGIES.length;
+        System.out.printf(Locale.US, "%,d games on %d threads in %.2f s: %,.0f games/s (seed %d)%n%n",
+                totalGames, threads, elapsedNanos / 1e9, totalGames * 1e9 / elapsedNanos, seed);
+        printMatrix("First player (rows) vs second player (columns), win / draw / loss %", results);
+
+        long hardLosses = 0;
+        int hard = STRATEGIES.length - 1;
+        for (int other = 0; other < STRATEGIES.length; other++) {
+            hardLosses += results[hard][other][SECOND_WINS] + results[other][hard][FIRST_WINS];
+        }
+        System.out.printf(Locale.US, "%nHard lost %,d games%n", hardLosses);
+        if (hardLosses > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void printMatrix(String title, long[][][] results) {
+        System.out.println(title);
+        StringBuilder header = new StringBuilder(String.format(Locale.US, "%-8s", ""));
+        for (String name : STRATEGIES) {
+            header.append(String.format(Locale.US, "%22s", name));
+        }
+        System.out.println(header);
+        for (int first = 0; first < STRATEGIES.length; first++) {
+            StringBuilder row = new StringBuilder(String.format(Locale.US, "%-8s", STRATEGIES[first]));
+            for (int second = 0; second < STRATEGIES.length; second++) {
+                long[] counts = results[first][second];
+                double games = counts[FIRST_WINS] + counts[DRAW] + counts[SECOND_WINS];
+                row.append(String.format(Locale.US, "%22s", String.format(Locale.US, "%.1f / %.1f / %.1f",
+                        100 * counts[FIRST_WINS] / games, 100 * counts[DRAW] / games,
+                        100 * counts[SECOND_WINS] / games)));
+            }
+            System.out.println(row);
+        }
+    }
+
+    private static final class Worker implements Callable<long[][][]> {
+
+        private final long games;
+        private final Random random;
+        private final Board board = new Board();
+
+        Worker(long games, long seed) {
+            this.games = games;
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public long[][][] call() {
+            long[][][] results = new long[STRATEGIES.length][STRATEGIES.length][3];
+            for (int first = 0; first < STRATEGIES.length; first++) {
+                for (int second = 0; second < STRATEGIES.length; second++) {
+                    for (long game = 0; game < games; game++) {
+                        results[first][second][play(STRATEGIES[first], STRATEGIES[second])]++;
+                    }
+                }
+            }
+            return results;
+        }
+
+        private int play(String first, String second) {
+            board.clear();
+            int player = Board.PLAYER_ONE;
+            while (board.winner() == Board.EMPTY && !board.isFull()) {
+                String strategy = player == Board.PLAYER_ONE ? first : second;
+                board.place(Strategies.chooseMove(strategy, board, player, random), player);
+                player = Board.opponent(player);
+            }
+            int winner = board.winner();
+            return winner == Board.PLAYER_ONE ? FIRST_WINS : winner == Board.PLAYER_TWO ? SECOND_WINS : DRAW;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.AlphaBetaSearch;
+import com.example.tictactoe.engine.Board;
+import com.example.tictactoe.engine.TranspositionTable;
+import java.util.Locale;
+
+/**
+ * What the transposition table saves the 3x3 search: positions visited
+ * and time per search by the old minimax(), by alpha-beta without a table
+ * and by alpha-beta with one, with the table's hit rate.
+ *
+ * Each benchmark position is searched from a cold table, as the first
+ * move of a game is, by fresh searchers; the positions are counted on that
+ * first search, since the move-ordering history a searcher keeps between
+ * calls makes repeated searches cheaper. Then a whole game of alpha-beta against itself
+ * is played keeping the table between moves, as the app does. Exits with
+ * status 1 if the table ever changes a search's score.
+ */
+public final class TranspositionTableCheck {
+
+    private static final int TABLE_ENTRIES = 1 << 12;
+    private static final long MEASURE_NANOS = 500_000_000L;
+
+    private static int failures;
+
+    private TranspositionTableCheck() {
+    }
+
+    public static void main(String[] args) {
+        for (String position : new String[]{Positions.EMPTY, Positions.MID_GAME, Positions.NEAR_TERMINAL}) {
+            checkColdSearch(position);
+        }
+        checkGame();
+        if (failures != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void checkColdSearch(String position) {
+        Board board = Positions.board(position);
+        LegacyBoard legacy = new LegacyBoard(Positions.cells(position));
+        AlphaBetaSearch plain = new AlphaBetaSearch();
+        TranspositionTable table = new TranspositionTable(TABLE_ENTRIES);
+        AlphaBetaSearch withTable = new AlphaBetaSearch(table);
+
+        long legacyNodes = legacyNodes(legacy, 2);
+        plain.search(board, Board.PLAYER_TWO);
+        withTable.search(board, Board.PLAYER_TWO);
+        expectSameScore(position, plain.score(), withTable.score());
+        long plainNodes = plain.nodes();
+        long tableNodes = withTable.nodes();
+        String tableStats = describe(table, plainNodes, tableNodes);
+
+        double legacyMicros = timeMicros(legacy::hardMove);
+        double plainMicros = timeMicros(() -> plain.search(board, Board.PLAYER_TWO));
+        // Includes clearing the table, which dominates the shortest searches
+        double tableMicros = timeMicros(() -> {
+            table.clear();
+            withTable.search(board, Board.PLAYER_TWO);
+        });
+
+        System.out.printf(Locale.US, "%s, cold table:%n", position);
+        System.out.printf(Locale.US, "  minimax            %,9d positions %,10.1f us%n", legacyNodes, legacyMicros);
+        System.out.printf(Locale.US, "  alpha-beta         %,9d positions %,10.1f us%n", plainNodes, plainMicros);
+        System.out.printf(Locale.US, "  alpha-beta + table %,9d positions %,10.1f us   %s%n",
+                tableNodes, tableMicros, tableStats);
+    }
+
+    // One game of alpha-beta against itself, with and without a table kept for the whole game
+    private static void checkGame() {
+        Board plainBoard = new Board();
+        Board tableBoard = new Board();
+        AlphaBetaSearch plain = new AlphaBetaSearch();
+        TranspositionTable table = new TranspositionTable(TABLE_ENTRIES);
+        AlphaBetaSearch withTable = new AlphaBetaSearch(table);
+
+        long plainNodes = 0;
+        long tableNodes = 0;
+        int player = Board.PLAYER_ONE;
+        int moves = 0;
+        while (tableBoard.winner() == Board.EMPTY && !tableBoard.isFull()) {
+            plain.search(plainBoard, player);
+            int move = withTable.search(tableBoard, player);
+            expectSameScore("game move " + (moves + 1), plain.score(), withTable.score());
+            plainNodes += plain.nodes();
+            tableNodes += withTable.nodes();
+            // Both boards follow the table search, so the two searches always see the same position
+            plainBoard.place(move, player);
+            tableBoard.place(move, player);
+            player = Board.opponent(player);
+            moves++;
+        }
+        System.out.printf(Locale.US, "Game of %d moves, table kept between moves:%n", moves);
+        System.out.printf(Locale.US, "  alpha-beta         %,9d positions%n", plainNodes);
+        System.out.printf(Locale.US, "  alpha-beta + table %,9d positions   %s%n",
+                tableNodes, describe(table, plainNodes, tableNodes));
+    }
+
+    private static String describe(TranspositionTable table, long plainNodes, long tableNodes) {
+        return String.format(Locale.US, "hit rate %.1f%% (%,d of %,d probes), %.1f%% fewer positions, %,d evictions",
+                table.hitRate() * 100, table.hits(), table.hits() + table.misses(),
+                plainNodes == 0 ? 0.0 : 100.0 * (plainNodes - tableNodes) / plainNodes, table.evictions());
+    }
+
+    private static void expectSameScore(String what, int plainScore, int tableScore) {
+        if (plainScore != tableScore) {
+            System.out.printf(Locale.US, "FAIL %s: score %d without the table, %d with it%n",
+                    what, plainScore, tableScore);
+            failures++;
+        }
+    }
+
+    // Calls to LegacyBoard.minimax() below mover playing each empty cell; hardMove() starts with the computer, 2
+    private static long legacyNodes(LegacyBoard legacy, int mover) {
+        int[] cells = legacy.board;
+        long nodes = 0;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == 0) {
+                cells[i] = mover;
+                nodes++;
+                if (legacy.checkWinner() == 0 && !legacy.isBoardFull()) {
+                    nodes += legacyNodes(legacy, 3 - mover);
+                }
+                cells[i] = 0;
+            }
+        }
+        return nodes;
+    }
+
+    // Average time per call, after running it for as long again to warm up
+    private static double timeMicros(Runnable search) {
+        for (int pass = 0; ; pass++) {
+            long start = System.nanoTime();
+            long calls = 0;
+            while (System.nanoTime() - start < MEASURE_NANOS) {
+                search.run();
+                calls++;
+            }
+            if (pass == 1) {
+                return (System.nanoTime() - start) / 1_000.0 / calls;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.TranspositionTable;
+import com.example.tictactoe.engine.UltimateBoard;
+import com.example.tictactoe.engine.UltimateSearch;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fixed-depth Ultimate Tic-Tac-Toe searches, reporting positions searched
+ * per second alongside the time per search, with and without a
+ * transposition table keyed by the board's Zobrist key.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UltimateSearchBenchmark {
+
+    private static final int DEPTH = 6;
+
+    // Random legal moves played from the empty board before searching
+    @Param({"0", "12", "30"})
+    public int openingMoves;
+
+    private UltimateBoard board;
+    private final UltimateSearch search = new UltimateSearch();
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Positions {
+        public long positions;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            positions = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Table {
+        final TranspositionTable table = TranspositionTable.withMegabytes(1);
+        final UltimateSearch search = new UltimateSearch(table);
+
+        // Every search starts cold, as it would from a new game position
+        @Setup(Level.Invocation)
+        public void clear() {
+            table.clear();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        board = new UltimateBoard();
+        Random random = new Random(openingMoves);
+        int[] moves = new int[UltimateBoard.CELLS];
+        for (int i = 0; i < openingMoves && !board.isOver(); i++) {
+            board.place(moves[random.nextInt(board.legalMoves(moves))]);
+        }
+    }
+
+    @Benchmark
+    public int search(Positions counter) {
+        int move = search.search(board, UltimateSearch.NO_TIME_LIMIT, DEPTH);
+        counter.positions += search.nodes();
+        return move;
+    }
+
+    @Benchmark
+    public int searchWithTable(Table state, Positions counter) {
+        int move = state.search.search(board, UltimateSearch.NO_TIME_LIMIT, DEPTH);
+        counter.positions += state.search.nodes();
+        return move;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.engine.Board;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Win and full-board checks: the engine's bitboard against the old
+ * checkWinner() / isBoardFull() on an int[9].
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinDetectionBenchmark {
+
+    @Param({Positions.EMPTY, Positions.MID_GAME, Positions.NEAR_TERMINAL})
+    public String position;
+
+    private Board board;
+    private LegacyBoard legacy;
+
+    @Setup
+    public void setUp() {
+        board = Positions.board(position);
+        legacy = new LegacyBoard(Positions.cells(position));
+    }
+
+    @Benchmark
+    public int winner() {
+        return board.winner();
+    }
+
+    @Benchmark
+    public boolean isFull() {
+        return board.isFull();
+    }
+
+    @Benchmark
+    public int legacyCheckWinner() {
+        return legacy.checkWinner();
+    }
+
+    @Benchmark
+    public boolean legacyIsBoardFull() {
+        return legacy.isBoardFull();
+    }
+}
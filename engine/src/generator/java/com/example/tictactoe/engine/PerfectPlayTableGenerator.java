@@ -0,0 +1,106 @@
+package com.example.tictactoe.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Build-time solver for {@link PerfectPlayTable}. Solves every 3x3 position
+ * once with a memoised negamax and writes the move and score arrays.
+ */
+public final class PerfectPlayTableGenerator {
+
+    private static final int UNSOLVED = Integer.MIN_VALUE;
+
+    private final byte[] moves = new byte[PerfectPlayTable.ENTRIES];
+    private final int[] scores = new int[PerfectPlayTable.ENTRIES];
+    private int solvedPositions;
+
+    private PerfectPlayTableGenerator() {
+        Arrays.fill(moves, PerfectPlayTable.NO_MOVE);
+        Arrays.fill(scores, UNSOLVED);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: PerfectPlayTableGenerator <output file>");
+            System.exit(1);
+        }
+
+        PerfectPlayTableGenerator generator = new PerfectPlayTableGenerator();
+        generator.solveAll();
+
+        File output = new File(args[0]);
+        File parent = output.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Unable to create " + parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(PerfectPlayTable.MAGIC);
+            out.writeInt(PerfectPlayTable.ENTRIES);
+            out.write(generator.moves);
+            for (int score : generator.scores) {
+                out.writeByte(score == UNSOLVED ? 0 : score);
+            }
+        }
+        System.out.println("Solved " + generator.solvedPositions + " positions into " + output);
+    }
+
+    private void solveAll() {
+        // Walk every legal position reachable from the empty board
+        solve(0, 0);
+    }
+
+    private int solve(int playerOneMask, int playerTwoMask) {
+        int index = PerfectPlayTable.index(playerOneMask, playerTwoMask);
+        if (scores[index] != UNSOLVED) {
+            return scores[index];
+        }
+
+        int player = PerfectPlayTable.sideToMove(playerOneMask, playerTwoMask);
+        int mine = player == Board.PLAYER_ONE ? playerOneMask : playerTwoMask;
+        int theirs = player == Board.PLAYER_ONE ? playerTwoMask : playerOneMask;
+        int empty = ~(playerOneMask | playerTwoMask) & Board.FULL_MASK;
+
+        int bestScore;
+        int bestMove = PerfectPlayTable.NO_MOVE;
+        if (Board.isWin(theirs)) {
+            bestScore = -PerfectPlayTable.WIN_NOW; // The previous move already won
+        } else if (empty == 0) {
+            bestScore = 0;
+        } else {
+            bestScore = Integer.MIN_VALUE;
+            // Cells are tried in ascending order and only a strictly better score replaces
+            // the best, so ties go to the lowest cell index
+            for (int cell = 0; cell < Board.CELLS; cell++) {
+                int bit = 1 << cell;
+                if ((empty & bit) == 0) continue;
+
+                int score;
+                if (Board.isWin(mine | bit)) {
+                    score = PerfectPlayTable.WIN_NOW;
+                } else if ((empty & ~bit) == 0) {
+                    score = 0;
+                } else {
+                    int child = player == Board.PLAYER_ONE
+                            ? solve(playerOneMask | bit, playerTwoMask)
+                            : solve(playerOneMask, playerTwoMask | bit);
+                    score = PerfectPlayTable.decay(-child);
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = cell;
+                }
+            }
+        }
+
+        moves[index] = (byte) bestMove;
+        scores[index] = bestScore;
+        solvedPositions++;
+        return bestScore;
+    }
+}
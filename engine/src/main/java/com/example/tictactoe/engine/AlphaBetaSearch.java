@@ -0,0 +1,299 @@
+package com.example.tictactoe.engine;
+
+/**
+ * Iterative-deepening negamax with alpha-beta pruning over a {@link Board}.
+ *
+ * Moves are tried transposition-table move first, then killer moves, then
+ * by history score with center, corners and edges as the starting order.
+ * Each iteration deepens by one ply; if the time budget runs out the best
+ * move of the last completed iteration is returned.
+ *
+ * Scores are from the side to move's point of view. A win is worth
+ * {@link #WIN_SCORE} less one per ply it takes, so quick wins rank higher.
+ * Instances keep their buffers between searches and are not thread-safe.
+ */
+public final class AlphaBetaSearch {
+
+    public static final int WIN_SCORE = 1000;
+    public static final long NO_TIME_LIMIT = 0L;
+
+    private static final int MATE_THRESHOLD = WIN_SCORE - Board.CELLS - 1;
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int MAX_PLY = Board.CELLS + 1;
+    private static final int CLOCK_CHECK_MASK = 1023;
+
+    // Center first, then corners, then edges
+    private static final int[] CELL_PRIORITY = {2, 1, 2, 1, 3, 1, 2, 1, 2};
+    // Heuristic value of a line holding only one player's marks, by mark count
+    private static final int[] LINE_WEIGHT = {0, 1, 10, 0};
+
+    private final TranspositionTable table;
+    private final int[][] moveBuffer = new int[MAX_PLY][Board.CELLS];
+    private final int[][] orderBuffer = new int[MAX_PLY][Board.CELLS];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[3][Board.CELLS];
+
+    private long deadline;
+    private boolean aborted;
+    private int rootBestMove;
+
+    private long nodes;
+    private int score;
+    private int completedDepth;
+    private long elapsedNanos;
+
+    public AlphaBetaSearch() {
+        this(null);
+    }
+
+    public AlphaBetaSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    // Returns the best cell for player, or -1 if the game is already over
+    public int search(Board board, int player, long budgetNanos) {
+        long start = System.nanoTime();
+        deadline = budgetNanos <= NO_TIME_LIMIT ? Long.MAX_VALUE : start + budgetNanos;
+        aborted = false;
+        nodes = 0;
+        score = 0;
+        completedDepth = 0;
+        prepareHeuristics();
+        if (table != null) {
+            table.newSearch();
+        }
+
+        int empties = Board.CELLS - board.moveCount();
+        int bestMove = -1;
+        if (board.winner() == Board.EMPTY && empties > 0) {
+            for (int depth = 1; depth <= empties; depth++) {
+                int iterationScore = searchRoot(board, player, depth, bestMove);
+                if (aborted) {
+                    break;
+                }
+                bestMove = rootBestMove;
+                score = iterationScore;
+                completedDepth = depth;
+                // A forced result inside the searched horizon cannot be improved
+                // on; one reported from a deeper table entry might be.
+                if (Math.abs(iterationScore) >= MATE_THRESHOLD
+                        && WIN_SCORE - Math.abs(iterationScore) < depth) {
+                    break;
+                }
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    public int search(Board board, int player) {
+        return search(board, player, NO_TIME_LIMIT);
+    }
+
+    // Nodes visited by the last search
+    public long nodes() {
+        return nodes;
+    }
+
+    // Score of the move returned by the last search
+    public int score() {
+        return score;
+    }
+
+    public int completedDepth() {
+        return completedDepth;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    private int searchRoot(Board board, int player, int depth, int previousBest) {
+        int opponent = Board.opponent(player);
+        int count = orderMoves(board, player, 0, previousBest);
+        int[] moves = moveBuffer[0];
+        int alpha = -INFINITY;
+        rootBestMove = moves[0];
+
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.place(move, player);
+            int value = -negamax(board, opponent, depth - 1, 1, -INFINITY, -alpha);
+            board.undo(move);
+            if (aborted) {
+                return 0;
+            }
+            if (value > alpha) {
+                alpha = value;
+                rootBestMove = move;
+            }
+        }
+        return alpha;
+    }
+
+    private int negamax(Board board, int player, int depth, int ply, int alpha, int beta) {
+        nodes++;
+        if ((nodes & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+            return 0;
+        }
+
+        int opponent = Board.opponent(player);
+        if (Board.isWin(board.mask(opponent))) {
+            return -(WIN_SCORE - (ply - 1)); // The move into this node won
+        }
+        int empties = Board.CELLS - board.moveCount();
+        if (empties == 0) {
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluate(board, player);
+        }
+
+        int alphaOriginal = alpha;
+        int ttMove = -1;
+        int transform = 0;
+        long key = 0;
+        if (table != null) {
+            int playerOneMask = board.mask(Board.PLAYER_ONE);
+            int playerTwoMask = board.mask(Board.PLAYER_TWO);
+            transform = Symmetry.canonicalTransform(playerOneMask, playerTwoMask);
+            key = Symmetry.key(transform, playerOneMask, playerTwoMask);
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) {
+                int storedMove = TranspositionTable.move(entry);
+                if (storedMove >= 0) {
+                    ttMove = Symmetry.inverseCell(transform, storedMove);
+                }
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int value = fromTable(TranspositionTable.value(entry), ply);
+                    int flag = TranspositionTable.flag(entry);
+                    if (flag == TranspositionTable.EXACT) return value;
+                    if (flag == TranspositionTable.LOWER_BOUND) alpha = Math.max(alpha, value);
+                    else beta = Math.min(beta, value);
+                    if (alpha >= beta) return value;
+                }
+            }
+        }
+
+        int count = orderMoves(board, player, ply, ttMove);
+        int[] moves = moveBuffer[ply];
+        int best = -INFINITY;
+        int bestMove = moves[0];
+
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.place(move, player);
+            int value = -negamax(board, opponent, depth - 1, ply + 1, -beta, -alpha);
+            board.undo(move);
+            if (aborted) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = move;
+            }
+            if (value > alpha) {
+                alpha = value;
+            }
+            if (alpha >= beta) {
+                recordCutoff(player, ply, depth, move);
+                break;
+            }
+        }
+
+        if (table != null) {
+            int flag = best <= alphaOriginal ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND
+                    : TranspositionTable.EXACT;
+            // A search that reaches every terminal is exact at any depth
+            int draft = depth >= empties ? Board.CELLS : depth;
+            table.store(key, toTable(best, ply), draft, flag, Symmetry.transformCell(transform, bestMove));
+        }
+        return best;
+    }
+
+    // Fills moveBuffer[ply] with the empty cells, best candidates first
+    private int orderMoves(Board board, int player, int ply, int firstMove) {
+        int[] moves = moveBuffer[ply];
+        int[] order = orderBuffer[ply];
+        int count = 0;
+        for (int empty = board.emptyMask(); empty != 0; empty &= empty - 1) {
+            int move = Integer.numberOfTrailingZeros(empty);
+            int key;
+            if (move == firstMove) {
+                key = Integer.MAX_VALUE;
+            } else if (move == killers[ply][0]) {
+                key = Integer.MAX_VALUE - 1;
+            } else if (move == killers[ply][1]) {
+                key = Integer.MAX_VALUE - 2;
+            } else {
+                key = history[player][move] * 4 + CELL_PRIORITY[move];
+            }
+            // Insertion sort, descending by key
+            int i = count++;
+            while (i > 0 && order[i - 1] < key) {
+                moves[i] = moves[i - 1];
+                order[i] = order[i - 1];
+                i--;
+            }
+            moves[i] = move;
+            order[i] = key;
+        }
+        return count;
+    }
+
+    private void recordCutoff(int player, int ply, int depth, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        history[player][move] += depth * depth;
+    }
+
+    private void prepareHeuristics() {
+        for (int[] pair : killers) {
+            pair[0] = -1;
+            pair[1] = -1;
+        }
+        // Age history so one game's statistics do not dominate the next
+        for (int[] scores : history) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] >>= 1;
+            }
+        }
+    }
+
+    private static int evaluate(Board board, int player) {
+        int mine = board.mask(player);
+        int theirs = board.mask(Board.opponent(player));
+        int value = 0;
+        for (int line : Board.WIN_MASKS) {
+            int myCount = Integer.bitCount(mine & line);
+            int theirCount = Integer.bitCount(theirs & line);
+            if (theirCount == 0) {
+                value += LINE_WEIGHT[myCount];
+            } else if (myCount == 0) {
+                value -= LINE_WEIGHT[theirCount];
+            }
+        }
+        return value;
+    }
+
+    // Win and loss scores depend on the ply they are found at; the table
+    // stores them relative to the node so any path can reuse them.
+    private static int toTable(int value, int ply) {
+        if (value >= MATE_THRESHOLD) return value + ply;
+        if (value <= -MATE_THRESHOLD) return value - ply;
+        return value;
+    }
+
+    private static int fromTable(int value, int ply) {
+        if (value >= MATE_THRESHOLD) return value - ply;
+        if (value <= -MATE_THRESHOLD) return value + ply;
+        return value;
+    }
+}
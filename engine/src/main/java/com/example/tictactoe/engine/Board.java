@@ -0,0 +1,143 @@
+package com.example.tictactoe.engine;
+
+/**
+ * 3x3 position stored as two 9-bit occupancy masks, one per player.
+ * Cell i maps to bit i (row-major, 0 = top left).
+ */
+public final class Board {
+
+    public static final int EMPTY = 0;
+    public static final int PLAYER_ONE = 1; // First player (human in computer mode)
+    public static final int PLAYER_TWO = 2; // Second player (computer in computer mode)
+
+    public static final int CELLS = 9;
+    public static final int FULL_MASK = 0x1FF;
+
+    // Rows, columns, then diagonals
+    static final int[] WIN_MASKS = {
+        0x007, 0x038, 0x1C0,
+        0x049, 0x092, 0x124,
+        0x111, 0x054
+    };
+
+    // For each 9-bit mask, the cells that would complete one of its lines
+    private static final int[] COMPLETING_CELLS = new int[1 << CELLS];
+    // For each 9-bit mask, its set bits as cell indices in ascending order
+    private static final byte[][] SET_CELLS = new byte[1 << CELLS][];
+
+    static {
+        for (int mask = 0; mask < COMPLETING_CELLS.length; mask++) {
+            for (int line : WIN_MASKS) {
+                int missing = line & ~mask;
+                if (Integer.bitCount(missing) == 1) {
+                    COMPLETING_CELLS[mask] |= missing;
+                }
+            }
+            SET_CELLS[mask] = new byte[Integer.bitCount(mask)];
+            int count = 0;
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                SET_CELLS[mask][count++] = (byte) Integer.numberOfTrailingZeros(bits);
+            }
+        }
+    }
+
+    private int playerOneMask;
+    private int playerTwoMask;
+    private long key;
+
+    public int get(int cell) {
+        int bit = 1 << cell;
+        if ((playerOneMask & bit) != 0) return PLAYER_ONE;
+        if ((playerTwoMask & bit) != 0) return PLAYER_TWO;
+        return EMPTY;
+    }
+
+    public boolean isEmpty(int cell) {
+        return ((playerOneMask | playerTwoMask) & (1 << cell)) == 0;
+    }
+
+    public void place(int cell, int player) {
+        if (player == PLAYER_ONE) {
+            playerOneMask |= 1 << cell;
+        } else {
+            playerTwoMask |= 1 << cell;
+        }
+        key ^= Zobrist.cell(player, cell);
+    }
+
+    public void undo(int cell) {
+        key ^= Zobrist.cell(get(cell), cell);
+        int keep = ~(1 << cell);
+        playerOneMask &= keep;
+        playerTwoMask &= keep;
+    }
+
+    public int winner() {
+        if (isWin(playerOneMask)) return PLAYER_ONE;
+        if (isWin(playerTwoMask)) return PLAYER_TWO;
+        return EMPTY;
+    }
+
+    public boolean isFull() {
+        return (playerOneMask | playerTwoMask) == FULL_MASK;
+    }
+
+    public int emptyMask() {
+        return ~(playerOneMask | playerTwoMask) & FULL_MASK;
+    }
+
+    // The n-th empty cell in ascending order, for n below the number of empty cells
+    public int emptyCell(int n) {
+        return SET_CELLS[emptyMask()][n];
+    }
+
+    // Empty cells where player would complete a line, as a mask
+    public int winningMoves(int player) {
+        return COMPLETING_CELLS[mask(player)] & emptyMask();
+    }
+
+    public int mask(int player) {
+        return player == PLAYER_ONE ? playerOneMask : playerTwoMask;
+    }
+
+    public int moveCount() {
+        return Integer.bitCount(playerOneMask | playerTwoMask);
+    }
+
+    // Zobrist key of the position, kept up to date by place() and undo()
+    public long key() {
+        return key;
+    }
+
+    public void clear() {
+        playerOneMask = 0;
+        playerTwoMask = 0;
+        key = 0;
+    }
+
+    public Board copy() {
+        Board copy = new Board();
+        copy.playerOneMask = playerOneMask;
+        copy.playerTwoMask = playerTwoMask;
+        copy.key = key;
+        return copy;
+    }
+
+    public static int opponent(int player) {
+        return player == PLAYER_ONE ? PLAYER_TWO : PLAYER_ONE;
+    }
+
+    // Cells that would complete a line of mask, whether empty or not
+    static int completingCells(int mask) {
+        return COMPLETING_CELLS[mask];
+    }
+
+    static boolean isWin(int mask) {
+        for (int line : WIN_MASKS) {
+            if ((mask & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
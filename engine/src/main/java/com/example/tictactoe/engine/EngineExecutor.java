@@ -0,0 +1,86 @@
+package com.example.tictactoe.engine;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs move searches on a background thread and hands only the chosen move
+ * back through a callback executor (the main thread on Android).
+ *
+ * Each submit or cancel starts a new generation; a result is delivered
+ * only if its generation is still current when the callback runs, so a
+ * cancelled search can never place a move on a board that has moved on.
+ */
+public final class EngineExecutor {
+
+    public interface Search {
+        int findMove();
+    }
+
+    public interface Callback {
+        void onMove(int move);
+    }
+
+    private final ExecutorService worker;
+    private final Executor callbackExecutor;
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> pending;
+
+    public EngineExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "engine-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Replaces any pending search. The callback runs no sooner than
+    // minDelayMillis after this call, so quick searches still feel paced.
+    public synchronized void submit(Search search, long minDelayMillis, Callback callback) {
+        cancelPending();
+        long ticket = generation.incrementAndGet();
+        long notBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+
+        pending = worker.submit(() -> {
+            int move = search.findMove();
+            long wait = notBefore - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    return; // Cancelled while pacing
+                }
+            }
+            if (generation.get() != ticket) {
+                return;
+            }
+            callbackExecutor.execute(() -> {
+                if (generation.get() == ticket) {
+                    callback.onMove(move);
+                }
+            });
+        });
+    }
+
+    public synchronized void cancel() {
+        cancelPending();
+        generation.incrementAndGet();
+    }
+
+    public void shutdown() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    private void cancelPending() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.tictactoe.engine;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Win, loss or draw and distance to the end of the game for every 4x4
+ * position (four in a row wins), solved by retrograde analysis and read
+ * from a memory-mapped file, so perfect play needs no search.
+ *
+ * Positions are numbered by a perfect hash over the legal mark counts:
+ * positions with k marks come after all those with fewer, then in
+ * colexicographic order of the occupied cells, then of which of those
+ * cells hold player one's marks. That leaves no gaps, one byte per
+ * position: the result in the top two bits and the number of plies left
+ * with best play in the rest. Results are from the point of view of the
+ * side to move; player one moves when both have placed the same number of
+ * marks.
+ */
+public final class FourByFourTablebase {
+
+    public static final int SIZE = 4;
+    public static final int CELLS = SIZE * SIZE;
+
+    // Results, from the side to move's point of view
+    public static final int WIN = 1;
+    public static final int LOSS = 2;
+    public static final int DRAW = 3;
+
+    static final int MAGIC = 0x54423434; // "TB44"
+    static final int HEADER_BYTES = 8;
+
+    private static final int FULL_MASK = (1 << CELLS) - 1;
+    private static final int DISTANCE_MASK = 0x3F;
+    // Split a layer across threads in runs of this many occupied-cell sets
+    private static final int SPLIT_THRESHOLD = 64;
+
+    static final int[][] BINOMIAL = new int[CELLS + 1][CELLS + 1];
+    // Index of the first position with k marks
+    static final int[] LAYER_OFFSET = new int[CELLS + 2];
+    public static final int ENTRIES;
+
+    private static final boolean[] HAS_LINE = new boolean[1 << CELLS];
+
+    static {
+        for (int n = 0; n <= CELLS; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+        for (int k = 0; k <= CELLS; k++) {
+            LAYER_OFFSET[k + 1] = LAYER_OFFSET[k] + BINOMIAL[CELLS][k] * BINOMIAL[k][playerOneMarks(k)];
+        }
+        ENTRIES = LAYER_OFFSET[CELLS + 1];
+
+        int[] lines = new int[2 * SIZE + 2];
+        int count = 0;
+        for (int i = 0; i < SIZE; i++) {
+            lines[count++] = 0xF << (i * SIZE); // Row
+            lines[count++] = 0x1111 << i; // Column
+        }
+        lines[count++] = 0x8421;
+        lines[count] = 0x1248;
+        for (int mask = 0; mask < HAS_LINE.length; mask++) {
+            for (int line : lines) {
+                if ((mask & line) == line) {
+                    HAS_LINE[mask] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private final ByteBuffer entries;
+
+    private FourByFourTablebase(ByteBuffer entries) {
+        this.entries = entries;
+    }
+
+    // Maps a file written by generate(); the mapping stays valid once the file is closed
+    public static FourByFourTablebase open(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            if (in.length() != HEADER_BYTES + (long) ENTRIES
+                    || in.readInt() != MAGIC || in.readInt() != ENTRIES) {
+                throw new IOException("Not a 4x4 tablebase: " + file);
+            }
+            return new FourByFourTablebase(in.getChannel().map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, ENTRIES));
+        }
+    }
+
+    // Opens file, first solving the game into it if it is missing or damaged
+    public static FourByFourTablebase openOrGenerate(File file, int threads) throws IOException {
+        if (file.isFile()) {
+            try {
+                return open(file);
+            } catch (IOException e) {
+                // Left over from an interrupted or older run; solve again
+            }
+        }
+        generate(file, threads);
+        return open(file);
+    }
+
+    // Solves every position on the given number of threads and writes the table to file
+    public static void generate(File file, int threads) throws IOException {
+        byte[] table = solve(threads);
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+            out.writeInt(MAGIC);
+            out.writeInt(ENTRIES);
+            out.write(table);
+        }
+        // Readers only ever see a complete file
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Unable to move " + temp + " to " + file);
+        }
+    }
+
+    // Backward induction one layer at a time: every move adds a mark, so a
+    // position's value depends only on positions with one more mark.
+    static byte[] solve(int threads) {
+        byte[] table = new byte[ENTRIES];
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int k = CELLS; k >= 0; k--) {
+                int[] occupiedSets = subsets(CELLS, k);
+                pool.invoke(new SolveLayer(table, k, occupiedSets, 0, occupiedSets.length));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return table;
+    }
+
+    public static int index(int playerOneMask, int playerTwoMask) {
+        int occupied = playerOneMask | playerTwoMask;
+        int k = Integer.bitCount(occupied);
+        int occupiedRank = 0;
+        int playerOneRank = 0;
+        int seen = 0;
+        int playerOneSeen = 0;
+        for (int bits = occupied; bits != 0; bits &= bits - 1) {
+            int cell = Integer.numberOfTrailingZeros(bits);
+            occupiedRank += BINOMIAL[cell][++seen];
+            if ((playerOneMask & (1 << cell)) != 0) {
+                playerOneRank += BINOMIAL[seen - 1][++playerOneSeen];
+            }
+        }
+        return LAYER_OFFSET[k] + occupiedRank * BINOMIAL[k][playerOneMarks(k)] + playerOneRank;
+    }
+
+    public int result(int playerOneMask, int playerTwoMask) {
+        return (entries.get(index(playerOneMask, playerTwoMask)) & 0xFF) >>> 6;
+    }
+
+    // Plies until the game ends if both sides play perfectly
+    public int distance(int playerOneMask, int playerTwoMask) {
+        return entries.get(index(playerOneMask, playerTwoMask)) & DISTANCE_MASK;
+    }
+
+    // Returns the perfect-play cell for the side to move, or -1 if the game is over
+    public int bestMove(GridBoard board) {
+        if (board.size() != SIZE || board.winLength() != SIZE) {
+            throw new IllegalArgumentException("Only 4x4 four in a row is solved");
+        }
+        int playerOneMask = 0;
+        int playerTwoMask = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (board.get(cell) == Board.PLAYER_ONE) playerOneMask |= 1 << cell;
+            else if (board.get(cell) == Board.PLAYER_TWO) playerTwoMask |= 1 << cell;
+        }
+        if (board.winner() != Board.EMPTY || board.isFull()) {
+            return -1;
+        }
+        boolean playerOneToMove = Integer.bitCount(playerOneMask) == Integer.bitCount(playerTwoMask);
+
+        int bestMove = -1;
+        int bestRank = Integer.MIN_VALUE;
+        for (int empty = ~(playerOneMask | playerTwoMask) & FULL_MASK; empty != 0; empty &= empty - 1) {
+            int cell = Integer.numberOfTrailingZeros(empty);
+            int one = playerOneToMove ? playerOneMask | 1 << cell : playerOneMask;
+            int two = playerOneToMove ? playerTwoMask : playerTwoMask | 1 << cell;
+            int entry = entries.get(index(one, two)) & 0xFF;
+            int rank = rank(entry >>> 6, entry & DISTANCE_MASK);
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestMove = cell;
+            }
+        }
+        return bestMove;
+    }
+
+    // Orders moves by the opponent's result after them: their quickest loss first, their slowest win last
+    private static int rank(int opponentResult, int distance) {
+        switch (opponentResult) {
+            case LOSS: return 200 - distance;
+            case DRAW: return 100;
+            default: return distance;
+        }
+    }
+
+    static int playerOneMarks(int marks) {
+        return (marks + 1) / 2;
+    }
+
+    // Every k-subset of n bits in increasing order, which is colexicographic order
+    static int[] subsets(int n, int k) {
+        int[] sets = new int[BINOMIAL[n][k]];
+        if (k == 0) {
+            return sets;
+        }
+        int set = (1 << k) - 1;
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = set;
+            // Gosper's hack: the next larger number with the same bit count
+            int low = set & -set;
+            int ripple = set + low;
+            set = ripple | (((set ^ ripple) >>> 2) / low);
+        }
+        return sets;
+    }
+
+    // Spreads the low bits of pattern over the set bits of mask, lowest first
+    private static int deposit(int pattern, int mask) {
+        int result = 0;
+        for (int bits = mask; bits != 0 && pattern != 0; bits &= bits - 1, pattern >>>= 1) {
+            if ((pattern & 1) != 0) {
+                result |= bits & -bits;
+            }
+        }
+        return result;
+    }
+
+    private static final class SolveLayer extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] table;
+        private final int marks;
+        private final int[] occupiedSets;
+        private final int from;
+        private final int to;
+
+        SolveLayer(byte[] table, int marks, int[] occupiedSets, int from, int to) {
+            this.table = table;
+            this.marks = marks;
+            this.occupiedSets = occupiedSets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SolveLayer(table, marks, occupiedSets, from, middle),
+                        new SolveLayer(table, marks, occupiedSets, middle, to));
+                return;
+            }
+            int[] patterns = subsets(marks, playerOneMarks(marks));
+            for (int i = from; i < to; i++) {
+                int occupied = occupiedSets[i];
+                int base = LAYER_OFFSET[marks] + i * patterns.length;
+                for (int p = 0; p < patterns.length; p++) {
+                    int playerOneMask = deposit(patterns[p], occupied);
+                    table[base + p] = solvePosition(playerOneMask, occupied & ~playerOneMask);
+                }
+            }
+        }
+
+        private byte solvePosition(int playerOneMask, int playerTwoMask) {
+            boolean playerOneToMove = Integer.bitCount(playerOneMask) == Integer.bitCount(playerTwoMask);
+            int mover = playerOneToMove ? playerOneMask : playerTwoMask;
+            int waiting = playerOneToMove ? playerTwoMask : playerOneMask;
+            if (HAS_LINE[waiting]) {
+                return entry(LOSS, 0); // The last move won
+            }
+            if (HAS_LINE[mover]) {
+                return entry(WIN, 0); // Cannot arise in play; indexed all the same
+            }
+            int empty = ~(playerOneMask | playerTwoMask) & FULL_MASK;
+            if (empty == 0) {
+                return entry(DRAW, 0);
+            }
+
+            int fastestWin = Integer.MAX_VALUE;
+            int slowestLoss = -1;
+            boolean draw = false;
+            for (int bits = empty; bits != 0; bits &= bits - 1) {
+                int bit = bits & -bits;
+                int one = playerOneToMove ? playerOneMask | bit : playerOneMask;
+                int two = playerOneToMove ? playerTwoMask : playerTwoMask | bit;
+                int child = table[index(one, two)] & 0xFF;
+                int distance = (child & DISTANCE_MASK) + 1;
+                switch (child >>> 6) {
+                    case LOSS:
+                        fastestWin = Math.min(fastestWin, distance);
+                        break;
+                    case DRAW:
+                        draw = true;
+                        break;
+                    default:
+                        slowestLoss = Math.max(slowestLoss, distance);
+                        break;
+                }
+            }
+            if (fastestWin != Integer.MAX_VALUE) {
+                return entry(WIN, fastestWin);
+            }
+            if (draw) {
+                return entry(DRAW, Integer.bitCount(empty));
+            }
+            return entry(LOSS, slowestLoss);
+        }
+
+        private static byte entry(int result, int distance) {
+            return (byte) (result << 6 | distance);
+        }
+    }
+}
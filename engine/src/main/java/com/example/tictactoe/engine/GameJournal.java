@@ -0,0 +1,149 @@
+package com.example.tictactoe.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Append-only file of {@link GameRecord}s, written on a background thread.
+ *
+ * {@link #append} only copies the record and queues it, so callers never
+ * wait for the disk. Records are gathered in a buffer and written through
+ * a file channel when it fills up or on {@link #flush}. The file starts
+ * with {@link #MAGIC}; read it back with {@link GameJournalReader}.
+ *
+ * If the process died halfway through a write, the cut-off record is
+ * dropped when the journal is next opened, so later records still line
+ * up. A journal with a bad record anywhere else is never cut: it is
+ * renamed aside, games and all, and a new one started in its place.
+ * After an I/O error further records are discarded and the error is kept
+ * in {@link #failure}.
+ */
+public final class GameJournal {
+
+    static final int MAGIC = 0x54544A31; // "TTJ1"
+    static final int FILE_HEADER_BYTES = 4;
+
+    private static final int BUFFER_BYTES = 8192;
+
+    private final File file;
+    private final ExecutorService writer;
+    // Everything below is only touched on the writer thread
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private FileChannel channel;
+
+    private volatile IOException failure;
+
+    // The file is opened on the first write, off the caller's thread
+    public GameJournal(File file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Queues a copy of record to be written; the record can be reused at once
+    public void append(GameRecord record) {
+        GameRecord copy = new GameRecord();
+        copy.copyFrom(record);
+        writer.execute(() -> write(copy));
+    }
+
+    // Writes every record appended so far through to the file
+    public Future<?> flush() {
+        return writer.submit(() -> {
+            if (failure != null || channel == null) return;
+            try {
+                drain();
+            } catch (IOException e) {
+                failure = e;
+            }
+        });
+    }
+
+    // Flushes and closes the file; nothing may be appended afterwards
+    public Future<?> close() {
+        Future<?> closed = writer.submit(() -> {
+            if (channel == null) return;
+            try {
+                if (failure == null) {
+                    drain();
+                }
+                channel.close();
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+            channel = null;
+        });
+        writer.shutdown();
+        return closed;
+    }
+
+    // The error that stopped the journal, or null while it is working
+    public IOException failure() {
+        return failure;
+    }
+
+    private void write(GameRecord record) {
+        if (failure != null) return;
+        try {
+            if (channel == null) {
+                channel = open();
+            }
+            if (buffer.remaining() < GameRecord.MAX_BYTES) {
+                drain();
+            }
+            record.encode(buffer);
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Unable to create " + parent);
+        }
+        long validLength = GameJournalReader.appendPosition(file);
+        if (validLength < 0) {
+            // Games after the bad record may still be recovered from the file by hand
+            File aside = new File(file.getPath() + ".damaged-" + System.currentTimeMillis());
+            if (!file.renameTo(aside)) {
+                throw new IOException("Unable to move damaged journal " + file + " aside");
+            }
+            validLength = 0;
+        }
+        FileChannel out = new RandomAccessFile(file, "rw").getChannel();
+        try {
+            // Drops a record cut short by a crash, or a header that never finished
+            out.truncate(validLength);
+            out.position(validLength);
+            if (validLength == 0) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+                header.putInt(MAGIC).flip();
+                while (header.hasRemaining()) {
+                    out.write(header);
+                }
+            }
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+        return out;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
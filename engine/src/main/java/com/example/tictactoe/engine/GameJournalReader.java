@@ -0,0 +1,123 @@
+package com.example.tictactoe.engine;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Streams the games in a {@link GameJournal} file, one at a time, through
+ * a fixed read buffer, so memory use does not grow with the journal.
+ * Each game is decoded into a record the caller supplies and may reuse.
+ *
+ * Reading stops at the end of the file or at the first record that is
+ * cut short or not a valid game; {@link #damaged} tells the end apart
+ * from the other two, and {@link #truncated} a cut-off last record from
+ * a bad one.
+ */
+public final class GameJournalReader implements Closeable {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private boolean endOfFile;
+    private boolean damaged;
+    private boolean truncated;
+    // File offset just past the last game returned
+    private long position;
+
+    public GameJournalReader(File file) throws IOException {
+        channel = new FileInputStream(file).getChannel();
+        buffer.flip();
+        if (!fill(GameJournal.FILE_HEADER_BYTES)) {
+            // A header that never finished: no games, but not another kind of file
+            damaged = buffer.hasRemaining();
+            truncated = damaged;
+            return;
+        }
+        if (buffer.getInt() != GameJournal.MAGIC) {
+            channel.close();
+            throw new IOException("Not a game journal: " + file);
+        }
+        position = GameJournal.FILE_HEADER_BYTES;
+    }
+
+    // Decodes the next game into record; returns false once there are no more
+    public boolean next(GameRecord record) throws IOException {
+        if (damaged) {
+            return false;
+        }
+        if (!fill(GameRecord.HEADER_BYTES)) {
+            damaged = buffer.hasRemaining();
+            truncated = damaged;
+            return false;
+        }
+        int length = GameRecord.peekLength(buffer);
+        if (length >= 0 && !fill(length)) {
+            damaged = true;
+            truncated = true;
+            return false;
+        }
+        if (length < 0 || !record.decode(buffer)) {
+            damaged = true;
+            return false;
+        }
+        position += length;
+        return true;
+    }
+
+    // True if reading stopped before the end of the file
+    public boolean damaged() {
+        return damaged;
+    }
+
+    // True if reading stopped because the file ends partway through a record, as it
+    // does when the process dies halfway through writing one
+    public boolean truncated() {
+        return truncated;
+    }
+
+    // Bytes from the start of the file to the end of the last game read
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Where the next game goes: the end of the last whole game if the file is intact or
+    // only its last record was cut off, 0 if it is missing or has no complete header, and
+    // -1 if a bad record stops reading before the end
+    static long appendPosition(File file) throws IOException {
+        if (!file.isFile()) {
+            return 0;
+        }
+        try (GameJournalReader reader = new GameJournalReader(file)) {
+            GameRecord record = new GameRecord();
+            while (reader.next(record)) {
+                // Only the position matters
+            }
+            return reader.damaged() && !reader.truncated() ? -1 : reader.position();
+        }
+    }
+
+    // Makes sure at least bytes are buffered; false if the file ends first
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (!endOfFile && buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.tictactoe.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One 3x3 game as it is kept in a {@link GameJournal}: how it was played,
+ * how it ended and the cells in the order they were taken.
+ *
+ * A record takes two header bytes and half a byte per move after the
+ * first, so a full nine-move game fits in six bytes:
+ *
+ * <pre>
+ * byte 0   mode (2 bits) | difficulty (2) | result (2) | 0 (2)
+ * byte 1   move count (4 bits) | first move (4)
+ * byte 2.. the remaining moves, two per byte, high nibble first
+ * </pre>
+ *
+ * Instances are mutable so a reader can decode into the same one for every
+ * game; they are not thread-safe.
+ */
+public final class GameRecord {
+
+    public static final int MODE_FRIEND = 0;
+    public static final int MODE_COMPUTER = 1;
+
+    // The computer's difficulty; friend games have none
+    public static final int DIFFICULTY_NONE = 0;
+    public static final int DIFFICULTY_EASY = 1;
+    public static final int DIFFICULTY_MEDIUM = 2;
+    public static final int DIFFICULTY_HARD = 3;
+
+    public static final int RESULT_UNFINISHED = 0;
+    public static final int RESULT_PLAYER_ONE = 1;
+    public static final int RESULT_PLAYER_TWO = 2;
+    public static final int RESULT_DRAW = 3;
+
+    static final int HEADER_BYTES = 2;
+    public static final int MAX_BYTES = encodedLength(Board.CELLS);
+
+    private int mode;
+    private int difficulty;
+    private int result;
+    private final byte[] moves = new byte[Board.CELLS];
+    private int moveCount;
+
+    // Starts a new game, forgetting any moves recorded so far
+    public void reset(int mode, int difficulty) {
+        if (mode < MODE_FRIEND || mode > MODE_COMPUTER
+                || difficulty < DIFFICULTY_NONE || difficulty > DIFFICULTY_HARD) {
+            throw new IllegalArgumentException("mode " + mode + ", difficulty " + difficulty);
+        }
+        this.mode = mode;
+        this.difficulty = difficulty;
+        this.result = RESULT_UNFINISHED;
+        this.moveCount = 0;
+    }
+
+    public void addMove(int cell) {
+        if (cell < 0 || cell >= Board.CELLS || moveCount == Board.CELLS) {
+            throw new IllegalArgumentException("Cannot record cell " + cell + " after " + moveCount + " moves");
+        }
+        moves[moveCount++] = (byte) cell;
+    }
+
+    // Forgets the last recorded move
+    public void removeLastMove() {
+        if (moveCount > 0) {
+            moveCount--;
+        }
+    }
+
+    public void setResult(int result) {
+        if (result < RESULT_UNFINISHED || result > RESULT_DRAW) {
+            throw new IllegalArgumentException("result " + result);
+        }
+        this.result = result;
+    }
+
+    // Maps a Board.winner() value, EMPTY meaning a draw on a full board
+    public void setResultFromWinner(int winner, boolean full) {
+        if (winner == Board.PLAYER_ONE) setResult(RESULT_PLAYER_ONE);
+        else if (winner == Board.PLAYER_TWO) setResult(RESULT_PLAYER_TWO);
+        else setResult(full ? RESULT_DRAW : RESULT_UNFINISHED);
+    }
+
+    public int mode() {
+        return mode;
+    }
+
+    public int difficulty() {
+        return difficulty;
+    }
+
+    public int result() {
+        return result;
+    }
+
+    public int moveCount() {
+        return moveCount;
+    }
+
+    public int move(int index) {
+        return moves[index];
+    }
+
+    public void copyFrom(GameRecord other) {
+        mode = other.mode;
+        difficulty = other.difficulty;
+        result = other.result;
+        moveCount = other.moveCount;
+        System.arraycopy(other.moves, 0, moves, 0, moveCount);
+    }
+
+    // Bytes this record takes in a journal
+    public int encodedLength() {
+        return encodedLength(moveCount);
+    }
+
+    static int encodedLength(int moveCount) {
+        return moveCount <= 1 ? HEADER_BYTES : HEADER_BYTES + moveCount / 2;
+    }
+
+    // Writes this record at the buffer's position, which must have encodedLength() bytes left
+    public void encode(ByteBuffer out) {
+        out.put((byte) (mode << 6 | difficulty << 4 | result << 2));
+        out.put((byte) (moveCount << 4 | (moveCount == 0 ? 0 : moves[0])));
+        for (int i = 1; i < moveCount; i += 2) {
+            int low = i + 1 < moveCount ? moves[i + 1] : 0;
+            out.put((byte) (moves[i] << 4 | low));
+        }
+    }
+
+    // Number of bytes the record starting at in's position takes, from its first two bytes,
+    // or -1 if they cannot start a record
+    static int peekLength(ByteBuffer in) {
+        int first = in.get(in.position()) & 0xFF;
+        int second = in.get(in.position() + 1) & 0xFF;
+        int moveCount = second >>> 4;
+        if ((first & 0x03) != 0 || first >>> 6 > MODE_COMPUTER || moveCount > Board.CELLS) {
+            return -1;
+        }
+        return encodedLength(moveCount);
+    }
+
+    // Reads the record at in's position, whose full length has been checked with peekLength();
+    // returns false, leaving this record unspecified, if it is not a valid game
+    boolean decode(ByteBuffer in) {
+        int first = in.get() & 0xFF;
+        int second = in.get() & 0xFF;
+        mode = first >>> 6;
+        difficulty = first >>> 4 & 0x03;
+        result = first >>> 2 & 0x03;
+        moveCount = second >>> 4;
+        int taken = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int cell;
+            if (i == 0) {
+                cell = second & 0x0F;
+            } else if ((i & 1) == 1) {
+                cell = (in.get(in.position()) & 0xFF) >>> 4;
+            } else {
+                cell = in.get() & 0x0F;
+            }
+            if (cell >= Board.CELLS || (taken & 1 << cell) != 0) {
+                return false;
+            }
+            taken |= 1 << cell;
+            moves[i] = (byte) cell;
+        }
+        if (moveCount > 1 && (moveCount & 1) == 0) {
+            in.get(); // Step past the half-used last byte
+        }
+        return true;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.tictactoe.engine;
+
+import java.util.Arrays;
+
+/**
+ * N x N board where K marks in a row win, for sizes from 3x3 up to 19x19.
+ *
+ * Wins are detected incrementally: {@link #place} only scans the four
+ * lines through the cell just played, so every move costs O(K) whatever
+ * the board size. Moves must be undone in reverse order.
+ */
+public final class GridBoard {
+
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 19;
+
+    // Row and column steps for horizontal, vertical and both diagonals
+    private static final int[] DIRECTION_ROW = {0, 1, 1, 1};
+    private static final int[] DIRECTION_COL = {1, 0, 1, -1};
+
+    private final int size;
+    private final int winLength;
+    private final byte[] cells;
+    private int moveCount;
+    private int winner = Board.EMPTY;
+    private long key;
+
+    public GridBoard(int size, int winLength) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between " + MIN_SIZE
+                    + " and " + MAX_SIZE + ": " + size);
+        }
+        if (winLength < MIN_SIZE || winLength > size) {
+            throw new IllegalArgumentException("Win length must be between " + MIN_SIZE
+                    + " and the board size: " + winLength);
+        }
+        this.size = size;
+        this.winLength = winLength;
+        this.cells = new byte[size * size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int winLength() {
+        return winLength;
+    }
+
+    public int cellCount() {
+        return cells.length;
+    }
+
+    public int get(int cell) {
+        return cells[cell];
+    }
+
+    public boolean isEmpty(int cell) {
+        return cells[cell] == Board.EMPTY;
+    }
+
+    public void place(int cell, int player) {
+        cells[cell] = (byte) player;
+        moveCount++;
+        key ^= Zobrist.cell(player, cell);
+        if (completesLine(cell, player)) {
+            winner = player;
+        }
+    }
+
+    public void undo(int cell) {
+        key ^= Zobrist.cell(cells[cell], cell);
+        cells[cell] = Board.EMPTY;
+        moveCount--;
+        // The game stops at the first win, so only the last move can have made it
+        winner = Board.EMPTY;
+    }
+
+    public int winner() {
+        return winner;
+    }
+
+    public boolean isFull() {
+        return moveCount == cells.length;
+    }
+
+    public int moveCount() {
+        return moveCount;
+    }
+
+    // Zobrist key of the position, kept up to date by place() and undo()
+    public long key() {
+        return key;
+    }
+
+    public void clear() {
+        Arrays.fill(cells, (byte) Board.EMPTY);
+        moveCount = 0;
+        winner = Board.EMPTY;
+        key = 0;
+    }
+
+    public GridBoard copy() {
+        GridBoard copy = new GridBoard(size, winLength);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        copy.moveCount = moveCount;
+        copy.winner = winner;
+        copy.key = key;
+        return copy;
+    }
+
+    // True if player holding cell makes K in a row through it
+    public boolean completesLine(int cell, int player) {
+        int row = cell / size;
+        int col = cell % size;
+        for (int d = 0; d < DIRECTION_ROW.length; d++) {
+            int dr = DIRECTION_ROW[d];
+            int dc = DIRECTION_COL[d];
+            int count = 1 + run(row, col, dr, dc, player) + run(row, col, -dr, -dc, player);
+            if (count >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Consecutive cells owned by player from (row, col), not counting it
+    private int run(int row, int col, int dr, int dc, int player) {
+        int count = 0;
+        int r = row + dr;
+        int c = col + dc;
+        while (count < winLength - 1 && r >= 0 && r < size && c >= 0 && c < size
+                && cells[r * size + c] == player) {
+            count++;
+            r += dr;
+            c += dc;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.tictactoe.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte Carlo Tree Search (UCT) over a {@link GridBoard}, for boards too
+ * large to search exhaustively.
+ *
+ * Uses root parallelism: every worker thread grows its own tree from the
+ * same position until the wall-clock budget runs out, then root visit
+ * counts are summed and the most visited move wins. Trees live in
+ * preallocated struct-of-arrays node pools that are reused between moves,
+ * so a search does not allocate per node or per rollout.
+ */
+public final class MctsSearch {
+
+    public static final int DEFAULT_NODES_PER_THREAD = 1 << 18;
+
+    private static final double EXPLORATION = 1.41;
+    // New tree nodes only consider cells this close to an existing mark
+    private static final int NEIGHBOURHOOD = 2;
+    private static final int CLOCK_CHECK_MASK = 63;
+
+    private final int threadCount;
+    private final int nodesPerThread;
+    private final ExecutorService pool;
+    private final List<Worker> workers = new ArrayList<>();
+    private volatile boolean stopRequested;
+
+    private long rollouts;
+    private long elapsedNanos;
+
+    public MctsSearch() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors()), DEFAULT_NODES_PER_THREAD);
+    }
+
+    public MctsSearch(int threadCount, int nodesPerThread) {
+        this.threadCount = threadCount;
+        this.nodesPerThread = nodesPerThread;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Returns the chosen cell for player, or -1 if the game is already over
+    public int search(GridBoard board, int player, long budgetNanos) {
+        long start = System.nanoTime();
+        rollouts = 0;
+        stopRequested = false;
+        if (board.winner() != Board.EMPTY || board.isFull()) {
+            elapsedNanos = System.nanoTime() - start;
+            return -1;
+        }
+
+        // Take a win, or block the opponent's, without searching
+        int forced = Tactics.immediateWin(board, player);
+        if (forced < 0) {
+            forced = Tactics.immediateWin(board, Board.opponent(player));
+        }
+        if (forced >= 0) {
+            elapsedNanos = System.nanoTime() - start;
+            return forced;
+        }
+
+        long deadline = start + budgetNanos;
+        List<Callable<Void>> tasks = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            Worker worker = workerFor(i);
+            worker.reset(board, player, deadline);
+            tasks.add(worker);
+        }
+
+        try {
+            List<Future<Void>> futures = pool.invokeAll(tasks);
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            // The caller was cancelled, so nobody will use the result
+            stopRequested = true;
+            Thread.currentThread().interrupt();
+            elapsedNanos = System.nanoTime() - start;
+            return -1;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS worker failed", e.getCause());
+        }
+
+        int[] visits = new int[board.cellCount()];
+        for (int i = 0; i < threadCount; i++) {
+            Worker worker = workers.get(i);
+            rollouts += worker.rollouts;
+            worker.addRootVisits(visits);
+        }
+
+        int bestMove = -1;
+        int bestVisits = -1;
+        for (int cell = 0; cell < visits.length; cell++) {
+            if (board.isEmpty(cell) && visits[cell] > bestVisits) {
+                bestVisits = visits[cell];
+                bestMove = cell;
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    // Rollouts completed by the last search, across all threads
+    public long rollouts() {
+        return rollouts;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double rolloutsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rollouts * 1e9 / elapsedNanos;
+    }
+
+    public int threadCount() {
+        return threadCount;
+    }
+
+    public void shutdown() {
+        stopRequested = true;
+        pool.shutdownNow();
+    }
+
+    private Worker workerFor(int index) {
+        while (workers.size() <= index) {
+            workers.add(new Worker(workers.size()));
+        }
+        return workers.get(index);
+    }
+
+    private final class Worker implements Callable<Void> {
+
+        // Node pool; children of a node occupy a contiguous block
+        private final int[] move = new int[nodesPerThread];
+        private final int[] firstChild = new int[nodesPerThread];
+        private final int[] childCount = new int[nodesPerThread];
+        private final int[] visits = new int[nodesPerThread];
+        private final float[] wins = new float[nodesPerThread]; // For the player who moved into the node
+        private int nodeCount;
+
+        private GridBoard board;
+        private int rootPlayer;
+        private long deadline;
+        private long random;
+        private long rollouts;
+
+        // Empty cells with O(1) removal, and the moves played this iteration
+        private int[] emptyCells;
+        private int[] emptyIndex;
+        private int emptyCount;
+        private int[] played;
+        private int playedCount;
+        private int[] path;
+
+        Worker(int index) {
+            random = System.nanoTime() ^ (0x9E3779B97F4A7C15L * (index + 1));
+        }
+
+        void reset(GridBoard position, int player, long deadline) {
+            if (board == null || board.size() != position.size() || board.winLength() != position.winLength()) {
+                board = new GridBoard(position.size(), position.winLength());
+                emptyCells = new int[position.cellCount()];
+                emptyIndex = new int[position.cellCount()];
+                played = new int[position.cellCount()];
+                path = new int[position.cellCount() + 2];
+            }
+            board.clear();
+            emptyCount = 0;
+            for (int cell = 0; cell < position.cellCount(); cell++) {
+                if (position.isEmpty(cell)) {
+                    emptyIndex[cell] = emptyCount;
+                    emptyCells[emptyCount++] = cell;
+                } else {
+                    board.place(cell, position.get(cell));
+                }
+            }
+            this.rootPlayer = player;
+            this.deadline = deadline;
+            this.rollouts = 0;
+            this.playedCount = 0;
+
+            nodeCount = 1;
+            move[0] = -1;
+            firstChild[0] = -1;
+            childCount[0] = 0;
+            visits[0] = 0;
+            wins[0] = 0f;
+        }
+
+        @Override
+        public Void call() {
+            while (!stopRequested) {
+                if ((rollouts & CLOCK_CHECK_MASK) == 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+                iterate();
+                rollouts++;
+            }
+            return null;
+        }
+
+        private void iterate() {
+            int node = 0;
+            int depth = 0;
+            int toMove = rootPlayer;
+            path[0] = 0;
+
+            // Selection: descend through fully expanded nodes
+            while (firstChild[node] >= 0 && board.winner() == Board.EMPTY) {
+                node = selectChild(node);
+                play(move[node], toMove);
+                toMove = Board.opponent(toMove);
+                path[++depth] = node;
+            }
+
+            // Expansion: add this node's children and step into the first one
+            if (board.winner() == Board.EMPTY && emptyCount > 0 && visits[node] > 0 && expand(node)) {
+                node = firstChild[node];
+                play(move[node], toMove);
+                toMove = Board.opponent(toMove);
+                path[++depth] = node;
+            }
+
+            // Simulation: random playout to the end of the game
+            while (board.winner() == Board.EMPTY && emptyCount > 0) {
+                int cell = emptyCells[nextInt(emptyCount)];
+                play(cell, toMove);
+                toMove = Board.opponent(toMove);
+            }
+            int winner = board.winner();
+
+            // Backpropagation
+            for (int d = depth; d >= 0; d--) {
+                int n = path[d];
+                visits[n]++;
+                // Odd depths were reached by a root player's move
+                int mover = (d & 1) == 1 ? rootPlayer : Board.opponent(rootPlayer);
+                if (winner == mover) {
+                    wins[n] += 1f;
+                } else if (winner == Board.EMPTY) {
+                    wins[n] += 0.5f;
+                }
+            }
+
+            undoPlayed();
+        }
+
+        private int selectChild(int node) {
+            int first = firstChild[node];
+            int end = first + childCount[node];
+            double logParent = Math.log(Math.max(1, visits[node]));
+            int best = first;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int child = first; child < end; child++) {
+                int n = visits[child];
+                if (n == 0) {
+                    return child; // Try every child once before comparing
+                }
+                double score = wins[child] / n + EXPLORATION * Math.sqrt(logParent / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        private boolean expand(int node) {
+            int first = nodeCount;
+            int count = 0;
+            boolean emptyBoard = board.moveCount() == 0;
+            for (int i = 0; i < emptyCount; i++) {
+                int cell = emptyCells[i];
+                if (emptyBoard ? cell != centerCell() : !nearMark(cell)) {
+                    continue;
+                }
+                if (first + count >= nodesPerThread) {
+                    return false; // Pool exhausted; keep playing out from here
+                }
+                int child = first + count++;
+                move[child] = cell;
+                firstChild[child] = -1;
+                childCount[child] = 0;
+                visits[child] = 0;
+                wins[child] = 0f;
+            }
+            if (count == 0) {
+                return false;
+            }
+            nodeCount += count;
+            firstChild[node] = first;
+            childCount[node] = count;
+            return true;
+        }
+
+        private boolean nearMark(int cell) {
+            int size = board.size();
+            int row = cell / size;
+            int col = cell % size;
+            for (int r = Math.max(0, row - NEIGHBOURHOOD); r <= Math.min(size - 1, row + NEIGHBOURHOOD); r++) {
+                for (int c = Math.max(0, col - NEIGHBOURHOOD); c <= Math.min(size - 1, col + NEIGHBOURHOOD); c++) {
+                    if (!board.isEmpty(r * size + c)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private int centerCell() {
+            int size = board.size();
+            return (size / 2) * size + size / 2;
+        }
+
+        private void play(int cell, int player) {
+            board.place(cell, player);
+            int index = emptyIndex[cell];
+            int last = emptyCells[--emptyCount];
+            emptyCells[index] = last;
+            emptyIndex[last] = index;
+            played[playedCount++] = cell;
+        }
+
+        private void undoPlayed() {
+            while (playedCount > 0) {
+                int cell = played[--playedCount];
+                board.undo(cell);
+                emptyIndex[cell] = emptyCount;
+                emptyCells[emptyCount++] = cell;
+            }
+        }
+
+        void addRootVisits(int[] totals) {
+            int first = firstChild[0];
+            if (first < 0) {
+                return;
+            }
+            for (int child = first; child < first + childCount[0]; child++) {
+                totals[move[child]] += visits[child];
+            }
+        }
+
+        // xorshift64*, owned by this worker so threads never share a generator
+        private int nextInt(int bound) {
+            random ^= random >>> 12;
+            random ^= random << 25;
+            random ^= random >>> 27;
+            long value = random * 0x2545F4914F6CDD1DL;
+            return (int) (((value >>> 32) * bound) >>> 32);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.tictactoe.engine;
+
+/**
+ * Undo and redo for a {@link Board}: a stack of the moves played, stepped
+ * through with the board's own {@link Board#place} and {@link Board#undo},
+ * so each step is O(1) with no board copies and no replay from the start.
+ *
+ * Moves that have been taken back stay on the stack until redone, or until
+ * a different move is played in their place. Every change to the board
+ * must go through the history for the two to stay in step. Not
+ * thread-safe.
+ */
+public final class MoveHistory {
+
+    private final Board board;
+    private final int[] cells = new int[Board.CELLS];
+    private final int[] players = new int[Board.CELLS];
+    // Moves on the board, then those that can be redone
+    private int played;
+    private int recorded;
+
+    public MoveHistory(Board board) {
+        this.board = board;
+    }
+
+    // Places the move and forgets any moves that could have been redone
+    public void play(int cell, int player) {
+        board.place(cell, player);
+        cells[played] = cell;
+        players[played] = player;
+        played++;
+        recorded = played;
+    }
+
+    public boolean canUndo() {
+        return played > 0;
+    }
+
+    public boolean canRedo() {
+        return played < recorded;
+    }
+
+    // Takes back the last move and returns its cell, or -1 if there is none
+    public int undo() {
+        if (played == 0) {
+            return -1;
+        }
+        int cell = cells[--played];
+        board.undo(cell);
+        return cell;
+    }
+
+    // Plays the last move taken back again and returns its cell, or -1 if there is none
+    public int redo() {
+        if (played == recorded) {
+            return -1;
+        }
+        int cell = cells[played];
+        board.place(cell, players[played]);
+        played++;
+        return cell;
+    }
+
+    // Player who made the move at index, counting from the first move of the game
+    public int player(int index) {
+        return players[index];
+    }
+
+    // Moves on the board
+    public int size() {
+        return played;
+    }
+
+    public void clear() {
+        board.clear();
+        played = 0;
+        recorded = 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.tictactoe.engine;
+
+/**
+ * A way of choosing the computer's move in positions of type P: the 3x3
+ * {@link Board}, a {@link GridBoard}, an {@link UltimateBoard} or a
+ * {@link QubicBoard}. Implementations are looked up by name in a
+ * {@link StrategyRegistry}, which times every call and records it in
+ * {@link StrategyMetrics}.
+ *
+ * An instance may keep search buffers and threads between calls, so each
+ * thread needs its own, and {@link #shutdown} releases them.
+ */
+public interface MoveStrategy<P> {
+
+    // A deadline that never passes
+    long NO_DEADLINE = Long.MAX_VALUE;
+
+    // Returns a cell for player, or -1 if no move is possible, aiming to
+    // finish by deadlineNanos on the System.nanoTime() clock. The position
+    // is left as it was found.
+    int chooseMove(P position, int player, long deadlineNanos);
+
+    // Positions searched (or playouts run) by the last call; 0 for strategies that do not search
+    long nodes();
+
+    // Stops any threads the strategy started; it must not be used afterwards
+    void shutdown();
+}
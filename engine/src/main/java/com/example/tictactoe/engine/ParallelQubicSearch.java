@@ -0,0 +1,214 @@
+package com.example.tictactoe.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link QubicSearch} with the root moves of every iteration split across
+ * a {@link ForkJoinPool}.
+ *
+ * The first root move is searched alone to set a bound (young brothers
+ * wait), then its siblings are searched in parallel. Every sibling starts
+ * from the best score found so far, shared through an atomic alpha, one
+ * point below it so that a move tying the best still gets an exact value.
+ * Ties go to the earliest move in root order, and the root order is
+ * derived exactly as the sequential search derives it, so both return the
+ * same move and score at every completed depth.
+ *
+ * Each pool thread keeps its own {@link QubicSearch} and board copy.
+ * Instances are not thread-safe; call {@link #shutdown} when done.
+ */
+public final class ParallelQubicSearch {
+
+    private final ForkJoinPool pool;
+    // Root order uses no history, so a fresh searcher orders exactly like the sequential one
+    private final QubicSearch ordering = new QubicSearch();
+    private final ThreadLocal<Worker> workers = new ThreadLocal<Worker>() {
+        @Override
+        protected Worker initialValue() {
+            return new Worker();
+        }
+    };
+
+    private final int[] rootMoves = new int[QubicBoard.CELLS];
+    private final int[] rootValues = new int[QubicBoard.CELLS];
+    private final AtomicInteger sharedAlpha = new AtomicInteger();
+    private final AtomicLong sharedNodes = new AtomicLong();
+    private volatile boolean aborted;
+    private int searchId;
+    private long deadline;
+
+    private long nodes;
+    private int score;
+    private int completedDepth;
+    private long elapsedNanos;
+
+    public ParallelQubicSearch(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    // Returns the best cell for player, or -1 if the game is already over
+    public int search(QubicBoard board, int player, long budgetNanos, int maxDepth) {
+        long start = System.nanoTime();
+        deadline = budgetNanos <= QubicSearch.NO_TIME_LIMIT ? Long.MAX_VALUE : start + budgetNanos;
+        aborted = false;
+        sharedNodes.set(0);
+        searchId++;
+        score = 0;
+        completedDepth = 0;
+        ordering.prepare(deadline);
+
+        int empties = QubicBoard.CELLS - board.moveCount();
+        int bestMove = -1;
+        if (board.winner() == Board.EMPTY && empties > 0) {
+            for (int depth = 1; depth <= Math.min(maxDepth, empties); depth++) {
+                int count = ordering.rootMoves(board, player, bestMove, rootMoves);
+                pool.invoke(new RootSplit(board, player, depth, count));
+                if (aborted) {
+                    break;
+                }
+                int best = 0;
+                for (int i = 1; i < count; i++) {
+                    if (rootValues[i] > rootValues[best]) {
+                        best = i;
+                    }
+                }
+                bestMove = rootMoves[best];
+                score = rootValues[best];
+                completedDepth = depth;
+                if (Math.abs(score) >= QubicSearch.MATE_THRESHOLD) {
+                    break; // Forced result; deeper search will not change it
+                }
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+        }
+        nodes = sharedNodes.get();
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    public int search(QubicBoard board, int player, long budgetNanos) {
+        return search(board, player, budgetNanos, QubicSearch.MAX_PLY);
+    }
+
+    // Nodes visited by the last search, summed over all threads
+    public long nodes() {
+        return nodes;
+    }
+
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    // Score of the move returned by the last search
+    public int score() {
+        return score;
+    }
+
+    public int completedDepth() {
+        return completedDepth;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Raises the shared alpha to value unless another thread has gone higher
+    private void raiseAlpha(int value) {
+        int current = sharedAlpha.get();
+        while (value > current && !sharedAlpha.compareAndSet(current, value)) {
+            current = sharedAlpha.get();
+        }
+    }
+
+    // Searches root move index with the calling thread's own searcher and board
+    private void searchRootMove(QubicBoard position, int player, int depth, int index) {
+        Worker worker = workers.get();
+        if (worker.searchId != searchId) {
+            worker.searchId = searchId;
+            worker.search.prepare(deadline);
+        }
+        worker.board.copyFrom(position);
+
+        long nodesBefore = worker.search.nodes();
+        int alpha = index == 0 ? -QubicSearch.INFINITY : sharedAlpha.get() - 1;
+        int value = worker.search.searchRootMove(worker.board, player, rootMoves[index], depth,
+                alpha, QubicSearch.INFINITY);
+        sharedNodes.addAndGet(worker.search.nodes() - nodesBefore);
+        if (worker.search.aborted()) {
+            aborted = true;
+            return;
+        }
+        rootValues[index] = value;
+        raiseAlpha(value);
+    }
+
+    private static final class Worker {
+        final QubicSearch search = new QubicSearch();
+        final QubicBoard board = new QubicBoard();
+        int searchId;
+    }
+
+    private final class RootSplit extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final QubicBoard position;
+        private final int player;
+        private final int depth;
+        private final int count;
+
+        RootSplit(QubicBoard position, int player, int depth, int count) {
+            this.position = position;
+            this.player = player;
+            this.depth = depth;
+            this.count = count;
+        }
+
+        @Override
+        protected void compute() {
+            // The eldest brother sets the bound before its siblings start
+            sharedAlpha.set(-QubicSearch.INFINITY);
+            searchRootMove(position, player, depth, 0);
+            if (aborted || count == 1) {
+                return;
+            }
+            ForkJoinTask<?>[] siblings = new ForkJoinTask<?>[count - 1];
+            for (int i = 1; i < count; i++) {
+                siblings[i - 1] = new RootMove(this, i);
+            }
+            invokeAll(siblings);
+        }
+    }
+
+    private final class RootMove extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RootSplit split;
+        private final int index;
+
+        RootMove(RootSplit split, int index) {
+            this.split = split;
+            this.index = index;
+        }
+
+        @Override
+        protected void compute() {
+            if (!aborted) {
+                searchRootMove(split.position, split.player, split.depth, index);
+            }
+        }
+    }
+}
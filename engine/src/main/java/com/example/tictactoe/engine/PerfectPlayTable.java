@@ -0,0 +1,126 @@
+package com.example.tictactoe.engine;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Best move and score for every 3x3 position, solved at build time by
+ * PerfectPlayTableGenerator and indexed by the base-3 encoding of the board
+ * (empty = 0, player one = 1, player two = 2, cell i weighted by 3^i).
+ *
+ * Scores are from the point of view of the side to move: 10 for a win on
+ * this move, one less for every further ply, 0 for a draw. The side to move
+ * is player one when both players have placed the same number of marks.
+ * Every child of a position is in the table too, so the score of each
+ * empty cell, as hints show them, costs one lookup per cell.
+ */
+public final class PerfectPlayTable {
+
+    static final String RESOURCE = "perfect_play.bin";
+    static final int MAGIC = 0x54545431; // "TTT1"
+    static final int ENTRIES = 19683; // 3^9
+    static final byte NO_MOVE = -1;
+    static final int WIN_NOW = 10;
+
+    // BASE3[mask] is the base-3 value of the cells in mask, each counted as 1
+    static final int[] BASE3 = new int[1 << Board.CELLS];
+
+    static {
+        for (int mask = 1; mask < BASE3.length; mask++) {
+            int low = Integer.numberOfTrailingZeros(mask);
+            BASE3[mask] = BASE3[mask & (mask - 1)] + pow3(low);
+        }
+    }
+
+    private PerfectPlayTable() {
+    }
+
+    public static int index(Board board) {
+        return index(board.mask(Board.PLAYER_ONE), board.mask(Board.PLAYER_TWO));
+    }
+
+    static int index(int playerOneMask, int playerTwoMask) {
+        return BASE3[playerOneMask] + 2 * BASE3[playerTwoMask];
+    }
+
+    // Returns the perfect-play cell for the side to move, or -1 if the game is over
+    public static int bestMove(Board board) {
+        return Holder.MOVES[index(board)];
+    }
+
+    public static int score(Board board) {
+        return Holder.SCORES[index(board)];
+    }
+
+    // Sets scores[cell] to the score of playing each empty cell, from the side to
+    // move's point of view; returns the mask of cells scored, 0 if the game is over
+    public static int scoreMoves(Board board, int[] scores) {
+        int playerOneMask = board.mask(Board.PLAYER_ONE);
+        int playerTwoMask = board.mask(Board.PLAYER_TWO);
+        if (Board.isWin(playerOneMask) || Board.isWin(playerTwoMask)) {
+            return 0;
+        }
+        boolean playerOneToMove = sideToMove(playerOneMask, playerTwoMask) == Board.PLAYER_ONE;
+        int mine = playerOneToMove ? playerOneMask : playerTwoMask;
+        int empty = board.emptyMask();
+        byte[] table = Holder.SCORES;
+        for (int bits = empty; bits != 0; bits &= bits - 1) {
+            int bit = bits & -bits;
+            int cell = Integer.numberOfTrailingZeros(bit);
+            if (Board.isWin(mine | bit)) {
+                scores[cell] = WIN_NOW;
+            } else if ((empty & ~bit) == 0) {
+                scores[cell] = 0;
+            } else {
+                int child = playerOneToMove
+                        ? index(playerOneMask | bit, playerTwoMask)
+                        : index(playerOneMask, playerTwoMask | bit);
+                scores[cell] = decay(-table[child]);
+            }
+        }
+        return empty;
+    }
+
+    // Moves a score one ply closer to zero, so nearer results rank higher
+    static int decay(int score) {
+        if (score > 0) return score - 1;
+        if (score < 0) return score + 1;
+        return 0;
+    }
+
+    static int sideToMove(int playerOneMask, int playerTwoMask) {
+        return Integer.bitCount(playerOneMask) == Integer.bitCount(playerTwoMask)
+                ? Board.PLAYER_ONE : Board.PLAYER_TWO;
+    }
+
+    static int pow3(int exponent) {
+        int value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 3;
+        }
+        return value;
+    }
+
+    // Loaded on first use so the resource is only read when a lookup happens
+    private static final class Holder {
+        static final byte[] MOVES = new byte[ENTRIES];
+        static final byte[] SCORES = new byte[ENTRIES];
+
+        static {
+            try (InputStream in = PerfectPlayTable.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing resource " + RESOURCE);
+                }
+                DataInputStream data = new DataInputStream(in);
+                if (data.readInt() != MAGIC || data.readInt() != ENTRIES) {
+                    throw new IllegalStateException("Corrupt resource " + RESOURCE);
+                }
+                data.readFully(MOVES);
+                data.readFully(SCORES);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read " + RESOURCE, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.tictactoe.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Speculative search while the human is on move: a background thread
+ * works out the computer's reply to each candidate human move and caches
+ * it, so the reply to the move actually played can be shown at once.
+ *
+ * Every {@link #start} begins a new round with fresh result arrays, so a
+ * search left over from an earlier position can never fill in a reply
+ * for the current one. Hits, misses and the search time saved on hits are
+ * counted across rounds.
+ */
+public final class Ponderer {
+
+    public static final int NO_REPLY = -1;
+
+    private static final int PENDING = -2;
+
+    public interface ReplySearch {
+        // The computer's reply once the human has played humanMove, or NO_REPLY
+        int findReply(int humanMove);
+    }
+
+    private final ExecutorService worker;
+    private final int moveSpace;
+    private Future<?> pending;
+    private AtomicIntegerArray replies;
+    private AtomicLongArray searchNanos;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong savedNanos = new AtomicLong();
+
+    // moveSpace is the number of distinct moves, e.g. Board.CELLS
+    public Ponderer(int moveSpace) {
+        this.moveSpace = moveSpace;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "engine-ponder");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    // Starts pondering replies to the first count candidate moves, in order
+    public synchronized void start(int[] candidates, int count, ReplySearch search) {
+        cancelPending();
+        AtomicIntegerArray roundReplies = new AtomicIntegerArray(moveSpace);
+        AtomicLongArray roundNanos = new AtomicLongArray(moveSpace);
+        for (int move = 0; move < moveSpace; move++) {
+            roundReplies.set(move, PENDING);
+        }
+        replies = roundReplies;
+        searchNanos = roundNanos;
+
+        int[] moves = new int[count];
+        System.arraycopy(candidates, 0, moves, 0, count);
+        pending = worker.submit(() -> {
+            for (int move : moves) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                long start = System.nanoTime();
+                int reply = search.findReply(move);
+                roundNanos.set(move, System.nanoTime() - start);
+                roundReplies.set(move, reply);
+            }
+        });
+    }
+
+    // Stops pondering and returns the cached reply to humanMove, or NO_REPLY on a miss
+    public synchronized int take(int humanMove) {
+        cancelPending();
+        AtomicIntegerArray roundReplies = replies;
+        replies = null;
+        int reply = roundReplies == null ? PENDING : roundReplies.get(humanMove);
+        if (reply == PENDING) {
+            misses.incrementAndGet();
+            return NO_REPLY;
+        }
+        hits.incrementAndGet();
+        savedNanos.addAndGet(searchNanos.get(humanMove));
+        return reply;
+    }
+
+    public synchronized void cancel() {
+        cancelPending();
+        replies = null;
+    }
+
+    public void shutdown() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public double hitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    // Search time the player did not have to wait for, summed over all hits
+    public long savedNanos() {
+        return savedNanos.get();
+    }
+
+    private void cancelPending() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.tictactoe.engine;
+
+/**
+ * 4x4x4 three-dimensional board (Qubic) where four in a row wins, along
+ * any of its 76 lines: rows, columns and pillars, the diagonals of every
+ * plane, and the four space diagonals.
+ *
+ * Cell (layer, row, col) is bit layer * 16 + row * 4 + col of a 64-bit
+ * occupancy mask per player, so a line check is a single AND. Moves must
+ * be undone in reverse order.
+ */
+public final class QubicBoard {
+
+    public static final int SIZE = 4;
+    public static final int CELLS = SIZE * SIZE * SIZE;
+    public static final int LINE_COUNT = 76;
+
+    static final long[] LINES = new long[LINE_COUNT];
+    // Indexes into LINES of the lines through each cell
+    static final int[][] CELL_LINES = new int[CELLS][];
+
+    static {
+        int count = 0;
+        // Every direction (dx, dy, dz) with components in {-1, 0, 1}, counted once
+        for (int dz = -1; dz <= 1; dz++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (dz * 9 + dy * 3 + dx <= 0) {
+                        continue;
+                    }
+                    for (int cell = 0; cell < CELLS; cell++) {
+                        long line = lineFrom(cell, dx, dy, dz);
+                        if (line != 0) {
+                            LINES[count++] = line;
+                        }
+                    }
+                }
+            }
+        }
+        if (count != LINE_COUNT) {
+            throw new IllegalStateException("Expected " + LINE_COUNT + " lines, found " + count);
+        }
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            int through = 0;
+            for (long line : LINES) {
+                if ((line & (1L << cell)) != 0) through++;
+            }
+            CELL_LINES[cell] = new int[through];
+            through = 0;
+            for (int i = 0; i < LINE_COUNT; i++) {
+                if ((LINES[i] & (1L << cell)) != 0) CELL_LINES[cell][through++] = i;
+            }
+        }
+    }
+
+    private long playerOneMask;
+    private long playerTwoMask;
+    private int winner = Board.EMPTY;
+    private long key;
+
+    public static int cell(int layer, int row, int col) {
+        return layer * SIZE * SIZE + row * SIZE + col;
+    }
+
+    public int get(int cell) {
+        long bit = 1L << cell;
+        if ((playerOneMask & bit) != 0) return Board.PLAYER_ONE;
+        if ((playerTwoMask & bit) != 0) return Board.PLAYER_TWO;
+        return Board.EMPTY;
+    }
+
+    public boolean isEmpty(int cell) {
+        return ((playerOneMask | playerTwoMask) & (1L << cell)) == 0;
+    }
+
+    public void place(int cell, int player) {
+        long bit = 1L << cell;
+        long mask;
+        if (player == Board.PLAYER_ONE) {
+            mask = playerOneMask |= bit;
+        } else {
+            mask = playerTwoMask |= bit;
+        }
+        key ^= Zobrist.cell(player, cell);
+        // Only lines through the new mark can have been completed
+        for (int line : CELL_LINES[cell]) {
+            if ((mask & LINES[line]) == LINES[line]) {
+                winner = player;
+                return;
+            }
+        }
+    }
+
+    public void undo(int cell) {
+        key ^= Zobrist.cell(get(cell), cell);
+        long keep = ~(1L << cell);
+        playerOneMask &= keep;
+        playerTwoMask &= keep;
+        // The game stops at the first win, so only the last move can have made it
+        winner = Board.EMPTY;
+    }
+
+    public int winner() {
+        return winner;
+    }
+
+    public boolean isFull() {
+        return (playerOneMask | playerTwoMask) == -1L;
+    }
+
+    public long emptyMask() {
+        return ~(playerOneMask | playerTwoMask);
+    }
+
+    public long mask(int player) {
+        return player == Board.PLAYER_ONE ? playerOneMask : playerTwoMask;
+    }
+
+    public int moveCount() {
+        return Long.bitCount(playerOneMask | playerTwoMask);
+    }
+
+    // Zobrist key of the position, kept up to date by place() and undo()
+    public long key() {
+        return key;
+    }
+
+    public void clear() {
+        playerOneMask = 0;
+        playerTwoMask = 0;
+        winner = Board.EMPTY;
+        key = 0;
+    }
+
+    public QubicBoard copy() {
+        QubicBoard copy = new QubicBoard();
+        copy.playerOneMask = playerOneMask;
+        copy.playerTwoMask = playerTwoMask;
+        copy.winner = winner;
+        copy.key = key;
+        return copy;
+    }
+
+    // Overwrites this board with other's position, without allocating
+    void copyFrom(QubicBoard other) {
+        playerOneMask = other.playerOneMask;
+        playerTwoMask = other.playerTwoMask;
+        winner = other.winner;
+        key = other.key;
+    }
+
+    // Full scan of all 76 lines, independent of how the marks were placed
+    public static boolean hasLine(long mask) {
+        for (long line : LINES) {
+            if ((mask & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Empty cells where player would complete a line, as a mask
+    public long winningMoves(int player) {
+        long mine = mask(player);
+        long empty = emptyMask();
+        long moves = 0;
+        for (long line : LINES) {
+            long missing = line & ~mine;
+            if (Long.bitCount(missing) == 1 && (missing & empty) != 0) {
+                moves |= missing;
+            }
+        }
+        return moves;
+    }
+
+    // The four cells from cell in direction (dx, dy, dz), or 0 if they leave the cube
+    private static long lineFrom(int cell, int dx, int dy, int dz) {
+        int x = cell % SIZE;
+        int y = cell / SIZE % SIZE;
+        int z = cell / (SIZE * SIZE);
+        long line = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (x < 0 || x >= SIZE || y < 0 || y >= SIZE || z < 0 || z >= SIZE) {
+                return 0;
+            }
+            line |= 1L << cell(z, y, x);
+            x += dx;
+            y += dy;
+            z += dz;
+        }
+        return line;
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.tictactoe.engine;
+
+/**
+ * Iterative-deepening negamax with alpha-beta pruning over a
+ * {@link QubicBoard}, bounded by a wall-clock budget.
+ *
+ * Threats drive the search: a side that can complete a line wins on the
+ * spot, a side facing two open threats loses, and a single threat leaves
+ * exactly one legal reply. Other moves are tried previous best first,
+ * then killer moves, then by how many lines through the cell they extend
+ * or block, plus history below the root. The root order depends only on
+ * the position and the previous best move, so {@link ParallelQubicSearch}
+ * can reproduce it exactly.
+ *
+ * Scores are from the side to move's point of view. A win is worth
+ * {@link #WIN_SCORE} less one per ply it takes. Instances keep their
+ * buffers between searches and are not thread-safe.
+ */
+public final class QubicSearch {
+
+    public static final int WIN_SCORE = 1_000_000;
+    public static final long NO_TIME_LIMIT = 0L;
+
+    static final int MAX_PLY = QubicBoard.CELLS + 1;
+    static final int MATE_THRESHOLD = WIN_SCORE - MAX_PLY;
+    static final int INFINITY = WIN_SCORE + 1;
+    private static final int CLOCK_CHECK_MASK = 1023;
+
+    // Heuristic value of a line holding only one player's marks, by mark count
+    private static final int[] LINE_WEIGHT = {0, 1, 8, 64, 0};
+    // Move-ordering value of a line through a cell, by the marks already in it
+    private static final int[] EXTEND_WEIGHT = {1, 4, 32, 0, 0};
+    private static final int[] BLOCK_WEIGHT = {0, 2, 24, 0, 0};
+
+    private final int[][] moveBuffer = new int[MAX_PLY][QubicBoard.CELLS];
+    private final int[][] orderBuffer = new int[MAX_PLY][QubicBoard.CELLS];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[3][QubicBoard.CELLS];
+
+    private long deadline;
+    private boolean aborted;
+    private long ownThreats;
+    private long opponentThreats;
+    private int rootBestMove;
+
+    private long nodes;
+    private int score;
+    private int completedDepth;
+    private long elapsedNanos;
+
+    // Returns the best cell for player, or -1 if the game is already over
+    public int search(QubicBoard board, int player, long budgetNanos, int maxDepth) {
+        long start = System.nanoTime();
+        deadline = budgetNanos <= NO_TIME_LIMIT ? Long.MAX_VALUE : start + budgetNanos;
+        aborted = false;
+        nodes = 0;
+        score = 0;
+        completedDepth = 0;
+        prepareHeuristics();
+
+        int empties = QubicBoard.CELLS - board.moveCount();
+        int bestMove = -1;
+        if (board.winner() == Board.EMPTY && empties > 0) {
+            for (int depth = 1; depth <= Math.min(maxDepth, empties); depth++) {
+                int iterationScore = searchRoot(board, player, depth, bestMove);
+                if (aborted) {
+                    break;
+                }
+                bestMove = rootBestMove;
+                score = iterationScore;
+                completedDepth = depth;
+                if (Math.abs(iterationScore) >= MATE_THRESHOLD) {
+                    break; // Forced result; deeper search will not change it
+                }
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    public int search(QubicBoard board, int player, long budgetNanos) {
+        return search(board, player, budgetNanos, MAX_PLY);
+    }
+
+    // Nodes visited by the last search
+    public long nodes() {
+        return nodes;
+    }
+
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    // Score of the move returned by the last search
+    public int score() {
+        return score;
+    }
+
+    public int completedDepth() {
+        return completedDepth;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Clears per-search state for a caller that drives the root itself
+    void prepare(long deadline) {
+        this.deadline = deadline;
+        aborted = false;
+        nodes = 0;
+        prepareHeuristics();
+    }
+
+    boolean aborted() {
+        return aborted;
+    }
+
+    // Fills moves with the root moves in search order and returns their count
+    int rootMoves(QubicBoard board, int player, int previousBest, int[] moves) {
+        int count = generateMoves(board, player, 0, previousBest);
+        System.arraycopy(moveBuffer[0], 0, moves, 0, count);
+        return count;
+    }
+
+    // Value of playing move at the root, searched depth plies deep with window (alpha, beta)
+    int searchRootMove(QubicBoard board, int player, int move, int depth, int alpha, int beta) {
+        board.place(move, player);
+        int value = -negamax(board, Board.opponent(player), depth - 1, 1, -beta, -alpha);
+        board.undo(move);
+        return value;
+    }
+
+    private int searchRoot(QubicBoard board, int player, int depth, int previousBest) {
+        int opponent = Board.opponent(player);
+        int count = generateMoves(board, player, 0, previousBest);
+        int[] moves = moveBuffer[0];
+        int alpha = -INFINITY;
+        rootBestMove = moves[0];
+
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.place(move, player);
+            int value = -negamax(board, opponent, depth - 1, 1, -INFINITY, -alpha);
+            board.undo(move);
+            if (aborted) {
+                return 0;
+            }
+            if (value > alpha) {
+                alpha = value;
+                rootBestMove = move;
+            }
+        }
+        return alpha;
+    }
+
+    private int negamax(QubicBoard board, int player, int depth, int ply, int alpha, int beta) {
+        nodes++;
+        if ((nodes & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+            return 0;
+        }
+
+        int opponent = Board.opponent(player);
+        if (board.winner() != Board.EMPTY) {
+            return -(WIN_SCORE - ply); // The move into this node won
+        }
+        if (board.isFull()) {
+            return 0;
+        }
+        int staticValue = scanLines(board, player);
+        // A threat of our own wins next move; two of theirs cannot both be blocked
+        if (ownThreats != 0) {
+            return WIN_SCORE - (ply + 1);
+        }
+        long threats = opponentThreats;
+        if (Long.bitCount(threats) > 1) {
+            return -(WIN_SCORE - (ply + 2));
+        }
+        if (depth <= 0 && threats == 0) {
+            return staticValue;
+        }
+
+        int count;
+        int[] moves = moveBuffer[ply];
+        if (threats != 0) {
+            // Forced block; searched without using up depth
+            moves[0] = Long.numberOfTrailingZeros(threats);
+            count = 1;
+            depth++;
+        } else {
+            count = generateMoves(board, player, ply, -1);
+        }
+
+        int best = -INFINITY;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.place(move, player);
+            int value = -negamax(board, opponent, depth - 1, ply + 1, -beta, -alpha);
+            board.undo(move);
+            if (aborted) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+            }
+            if (value > alpha) {
+                alpha = value;
+            }
+            if (alpha >= beta) {
+                recordCutoff(player, ply, depth, move);
+                break;
+            }
+        }
+        return best;
+    }
+
+    // Fills moveBuffer[ply] with the empty cells, best candidates first
+    private int generateMoves(QubicBoard board, int player, int ply, int firstMove) {
+        int[] moves = moveBuffer[ply];
+        int[] order = orderBuffer[ply];
+        long mine = board.mask(player);
+        long theirs = board.mask(Board.opponent(player));
+        int count = 0;
+        for (long empty = board.emptyMask(); empty != 0; empty &= empty - 1) {
+            int move = Long.numberOfTrailingZeros(empty);
+            int key;
+            if (move == firstMove) {
+                key = Integer.MAX_VALUE;
+            } else if (move == killers[ply][0]) {
+                key = Integer.MAX_VALUE - 1;
+            } else if (move == killers[ply][1]) {
+                key = Integer.MAX_VALUE - 2;
+            } else {
+                // History depends on the path the search took; the root order must not
+                key = ply == 0 ? 0 : history[player][move];
+                for (int line : QubicBoard.CELL_LINES[move]) {
+                    int myCount = Long.bitCount(mine & QubicBoard.LINES[line]);
+                    int theirCount = Long.bitCount(theirs & QubicBoard.LINES[line]);
+                    if (theirCount == 0) {
+                        key += EXTEND_WEIGHT[myCount];
+                    } else if (myCount == 0) {
+                        key += BLOCK_WEIGHT[theirCount];
+                    }
+                }
+            }
+            // Insertion sort, descending by key
+            int i = count++;
+            while (i > 0 && order[i - 1] < key) {
+                moves[i] = moves[i - 1];
+                order[i] = order[i - 1];
+                i--;
+            }
+            moves[i] = move;
+            order[i] = key;
+        }
+        return count;
+    }
+
+    private void recordCutoff(int player, int ply, int depth, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        history[player][move] = Math.min(1 << 20, history[player][move] + depth * depth);
+    }
+
+    private void prepareHeuristics() {
+        for (int[] pair : killers) {
+            pair[0] = -1;
+            pair[1] = -1;
+        }
+        // Age history so one game's statistics do not dominate the next
+        for (int[] scores : history) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] >>= 1;
+            }
+        }
+    }
+
+    // One pass over all 76 lines: returns the static evaluation for player
+    // and leaves the empty cells that complete a line for either side in
+    // ownThreats and opponentThreats.
+    private int scanLines(QubicBoard board, int player) {
+        long mine = board.mask(player);
+        long theirs = board.mask(Board.opponent(player));
+        long mineThreats = 0;
+        long theirThreats = 0;
+        int value = 0;
+        for (long line : QubicBoard.LINES) {
+            int myCount = Long.bitCount(mine & line);
+            int theirCount = Long.bitCount(theirs & line);
+            if (theirCount == 0) {
+                value += LINE_WEIGHT[myCount];
+                if (myCount == 3) mineThreats |= line & ~mine;
+            } else if (myCount == 0) {
+                value -= LINE_WEIGHT[theirCount];
+                if (theirCount == 3) theirThreats |= line & ~theirs;
+            }
+        }
+        ownThreats = mineThreats;
+        opponentThreats = theirThreats;
+        return value;
+    }
+}
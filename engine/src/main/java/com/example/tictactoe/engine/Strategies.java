@@ -0,0 +1,239 @@
+package com.example.tictactoe.engine;
+
+import java.util.Random;
+
+/**
+ * The computer's move choice for each difficulty, for whichever player is
+ * given (the app's computer is {@link Board#PLAYER_TWO}). Every method
+ * returns a cell index, or -1 when no move is possible, and leaves the
+ * board as it found it. Randomness comes from the caller, so each thread
+ * can bring its own generator.
+ *
+ * Moves come from the board's occupancy masks and lookup tables, so
+ * choosing a move allocates nothing on the heap. The same choices are
+ * available as {@link MoveStrategy} instances for {@link StrategyRegistry},
+ * along with the searches for the larger games.
+ */
+public final class Strategies {
+
+    public static final String EASY = "easy";
+    public static final String MEDIUM = "medium";
+    public static final String HARD = "hard";
+    // Iterative-deepening search bounded by the deadline; plays long mode's series
+    public static final String ALPHA_BETA = "alphabeta";
+    // Larger grids, searched until the deadline
+    public static final String MCTS = "mcts";
+    // Perfect play on 4x4 four in a row, from a solved table
+    public static final String TABLEBASE_4X4 = "tablebase4x4";
+    // Registered once per difficulty, see forDifficulty()
+    public static final String ULTIMATE = "ultimate";
+    public static final String QUBIC = "qubic";
+
+    private static final int ALPHA_BETA_TABLE_ENTRIES = 1 << 12;
+    private static final int ULTIMATE_TABLE_MEGABYTES = 4;
+    // MCTS has no natural end, so without a deadline it thinks this long
+    private static final long MCTS_DEFAULT_BUDGET_NANOS = 1_000_000_000L;
+
+    private Strategies() {
+    }
+
+    public static int chooseMove(String difficulty, Board position, int player, Random random) {
+        if (difficulty.equals(EASY)) {
+            return easyMove(position, random);
+        } else if (difficulty.equals(MEDIUM)) {
+            return mediumMove(position, player, random);
+        } else {
+            return hardMove(position);
+        }
+    }
+
+    public static int easyMove(Board position, Random random) {
+        // Random move among the empty cells
+        int empty = position.emptyMask();
+        return empty != 0 ? position.emptyCell(random.nextInt(Integer.bitCount(empty))) : -1;
+    }
+
+    public static int mediumMove(Board position, int player, Random random) {
+        // Simple strategy: take center, corners, then edges
+        // First, try to win
+        int wins = position.winningMoves(player);
+        if (wins != 0) return Integer.numberOfTrailingZeros(wins);
+
+        // Block player from winning
+        int blocks = position.winningMoves(Board.opponent(player));
+        if (blocks != 0) return Integer.numberOfTrailingZeros(blocks);
+
+        // Take center
+        if (position.isEmpty(4)) return 4;
+        // Take corners
+        if (position.isEmpty(0)) return 0;
+        // Random available move
+        return easyMove(position, random);
+    }
+
+    public static int hardMove(Board position) {
+        // Perfect play for the side to move, looked up from the precomputed table
+        return PerfectPlayTable.bestMove(position);
+    }
+
+    // The registry name of a game's search at a difficulty, e.g. "ultimate-hard"
+    public static String forDifficulty(String game, String difficulty) {
+        return game + "-" + difficulty;
+    }
+
+    // Ultimate easy and medium look only a few moves ahead
+    static int ultimateDepth(String difficulty) {
+        switch (difficulty) {
+            case EASY: return 2;
+            case MEDIUM: return 4;
+            default: return UltimateBoard.CELLS;
+        }
+    }
+
+    static int qubicDepth(String difficulty) {
+        switch (difficulty) {
+            case EASY: return 1;
+            case MEDIUM: return 3;
+            default: return QubicBoard.CELLS;
+        }
+    }
+
+    public static MoveStrategy<Board> easy(Random random) {
+        return new LookupStrategy<Board>() {
+            @Override
+            public int chooseMove(Board position, int player, long deadlineNanos) {
+                return easyMove(position, random);
+            }
+        };
+    }
+
+    public static MoveStrategy<Board> medium(Random random) {
+        return new LookupStrategy<Board>() {
+            @Override
+            public int chooseMove(Board position, int player, long deadlineNanos) {
+                return mediumMove(position, player, random);
+            }
+        };
+    }
+
+    public static MoveStrategy<Board> hard() {
+        return new LookupStrategy<Board>() {
+            @Override
+            public int chooseMove(Board position, int player, long deadlineNanos) {
+                return hardMove(position);
+            }
+        };
+    }
+
+    // Keeps its transposition table between calls, so a series of games reuses it
+    public static MoveStrategy<Board> alphaBeta() {
+        AlphaBetaSearch search = new AlphaBetaSearch(new TranspositionTable(ALPHA_BETA_TABLE_ENTRIES));
+        return new MoveStrategy<Board>() {
+            @Override
+            public int chooseMove(Board position, int player, long deadlineNanos) {
+                return search.search(position, player, budgetNanos(deadlineNanos, AlphaBetaSearch.NO_TIME_LIMIT));
+            }
+
+            @Override
+            public long nodes() {
+                return search.nodes();
+            }
+
+            @Override
+            public void shutdown() {
+            }
+        };
+    }
+
+    // Runs playouts on every core; nodes() counts playouts
+    public static MoveStrategy<GridBoard> mcts() {
+        MctsSearch search = new MctsSearch();
+        return new MoveStrategy<GridBoard>() {
+            @Override
+            public int chooseMove(GridBoard position, int player, long deadlineNanos) {
+                return search.search(position, player, budgetNanos(deadlineNanos, MCTS_DEFAULT_BUDGET_NANOS));
+            }
+
+            @Override
+            public long nodes() {
+                return search.rollouts();
+            }
+
+            @Override
+            public void shutdown() {
+                search.shutdown();
+            }
+        };
+    }
+
+    // Plays the side to move in the table, whatever player is given
+    public static MoveStrategy<GridBoard> tablebase(FourByFourTablebase tablebase) {
+        return new LookupStrategy<GridBoard>() {
+            @Override
+            public int chooseMove(GridBoard position, int player, long deadlineNanos) {
+                return tablebase.bestMove(position);
+            }
+        };
+    }
+
+    // Searches no deeper than maxDepth, keeping its transposition table between
+    // calls since positions recur between moves and games. The board knows
+    // whose turn it is, so player is not used.
+    public static MoveStrategy<UltimateBoard> ultimate(int maxDepth) {
+        UltimateSearch search = new UltimateSearch(TranspositionTable.withMegabytes(ULTIMATE_TABLE_MEGABYTES));
+        return new MoveStrategy<UltimateBoard>() {
+            @Override
+            public int chooseMove(UltimateBoard position, int player, long deadlineNanos) {
+                return search.search(position, budgetNanos(deadlineNanos, UltimateSearch.NO_TIME_LIMIT), maxDepth);
+            }
+
+            @Override
+            public long nodes() {
+                return search.nodes();
+            }
+
+            @Override
+            public void shutdown() {
+            }
+        };
+    }
+
+    // Searches no deeper than maxDepth, with the root moves split across every core
+    public static MoveStrategy<QubicBoard> qubic(int maxDepth) {
+        ParallelQubicSearch search = new ParallelQubicSearch(Runtime.getRuntime().availableProcessors());
+        return new MoveStrategy<QubicBoard>() {
+            @Override
+            public int chooseMove(QubicBoard position, int player, long deadlineNanos) {
+                return search.search(position, player, budgetNanos(deadlineNanos, QubicSearch.NO_TIME_LIMIT), maxDepth);
+            }
+
+            @Override
+            public long nodes() {
+                return search.nodes();
+            }
+
+            @Override
+            public void shutdown() {
+                search.shutdown();
+            }
+        };
+    }
+
+    // The searches take a budget rather than a deadline; a passed deadline still gets the shortest budget
+    private static long budgetNanos(long deadlineNanos, long noDeadlineBudget) {
+        return deadlineNanos == MoveStrategy.NO_DEADLINE ? noDeadlineBudget
+                : Math.max(1L, deadlineNanos - System.nanoTime());
+    }
+
+    // Answers without searching, whatever the deadline
+    private abstract static class LookupStrategy<P> implements MoveStrategy<P> {
+        @Override
+        public long nodes() {
+            return 0;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
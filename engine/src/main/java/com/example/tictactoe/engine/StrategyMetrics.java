@@ -0,0 +1,145 @@
+package com.example.tictactoe.engine;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-strategy totals of think time, positions searched and heap
+ * allocation, fed by {@link StrategyRegistry} on every move and exported
+ * as JSON.
+ *
+ * Think times also go into a histogram of power-of-two microsecond
+ * buckets, so a slow tail shows up even when the average looks fine.
+ * Recording takes a lock per strategy and allocates nothing once a
+ * strategy has been seen. Thread-safe.
+ */
+public final class StrategyMetrics {
+
+    // Bucket i counts calls that took less than 2^i microseconds; the last one takes the rest
+    static final int BUCKETS = 24;
+
+    /** Bytes allocated so far by the calling thread. */
+    public interface AllocationCounter {
+        long allocatedBytes();
+    }
+
+    // For platforms without a per-thread counter; allocations are left out of the JSON
+    public static final AllocationCounter NO_ALLOCATION_COUNTER = () -> -1L;
+
+    private final AllocationCounter allocationCounter;
+    private final Map<String, Stats> stats = new TreeMap<>();
+
+    public StrategyMetrics() {
+        this(NO_ALLOCATION_COUNTER);
+    }
+
+    public StrategyMetrics(AllocationCounter allocationCounter) {
+        this.allocationCounter = allocationCounter;
+    }
+
+    AllocationCounter allocationCounter() {
+        return allocationCounter;
+    }
+
+    // The totals for name, created on first use
+    synchronized Stats stats(String name) {
+        Stats entry = stats.get(name);
+        if (entry == null) {
+            entry = new Stats();
+            stats.put(name, entry);
+        }
+        return entry;
+    }
+
+    public long calls(String name) {
+        Stats entry = stats(name);
+        synchronized (entry) {
+            return entry.calls;
+        }
+    }
+
+    public double averageThinkNanos(String name) {
+        Stats entry = stats(name);
+        synchronized (entry) {
+            return entry.calls == 0 ? 0.0 : (double) entry.thinkNanos / entry.calls;
+        }
+    }
+
+    public double averageNodes(String name) {
+        Stats entry = stats(name);
+        synchronized (entry) {
+            return entry.calls == 0 ? 0.0 : (double) entry.nodes / entry.calls;
+        }
+    }
+
+    // Zeroes every total; strategies already handed out keep recording
+    public synchronized void reset() {
+        for (Stats entry : stats.values()) {
+            entry.reset();
+        }
+    }
+
+    // One object per strategy, keyed by name, in name order
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(entry.getKey()).append("\":");
+            entry.getValue().appendJson(json);
+        }
+        return json.append('}').toString();
+    }
+
+    static final class Stats {
+        private long calls;
+        private long thinkNanos;
+        private long maxThinkNanos;
+        private long nodes;
+        private long allocatedBytes;
+        private boolean allocationsKnown = true;
+        private final long[] histogram = new long[BUCKETS];
+
+        synchronized void record(long thinkNanos, long nodes, long allocatedBytes) {
+            calls++;
+            this.thinkNanos += thinkNanos;
+            maxThinkNanos = Math.max(maxThinkNanos, thinkNanos);
+            this.nodes += nodes;
+            if (allocatedBytes < 0) {
+                allocationsKnown = false;
+            } else {
+                this.allocatedBytes += allocatedBytes;
+            }
+            long micros = thinkNanos / 1000;
+            int bucket = 64 - Long.numberOfLeadingZeros(micros);
+            histogram[Math.min(bucket, BUCKETS - 1)]++;
+        }
+
+        synchronized void reset() {
+            calls = 0;
+            thinkNanos = 0;
+            maxThinkNanos = 0;
+            nodes = 0;
+            allocatedBytes = 0;
+            allocationsKnown = true;
+            Arrays.fill(histogram, 0L);
+        }
+
+        synchronized void appendJson(StringBuilder json) {
+            json.append(String.format(Locale.US, "{\"calls\":%d,\"thinkNanos\":%d,\"maxThinkNanos\":%d,\"nodes\":%d,",
+                    calls, thinkNanos, maxThinkNanos, nodes));
+            // Omitted rather than guessed when any call's allocation was unknown
+            if (allocationsKnown) {
+                json.append("\"allocatedBytes\":").append(allocatedBytes).append(',');
+            }
+            json.append("\"thinkMicrosHistogram\":[");
+            for (int i = 0; i < BUCKETS; i++) {
+                json.append(i == 0 ? "" : ",").append(histogram[i]);
+            }
+            json.append("]}");
+        }
+    }
+}
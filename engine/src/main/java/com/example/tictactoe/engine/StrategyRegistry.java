@@ -0,0 +1,149 @@
+package com.example.tictactoe.engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Move strategies by name, for every board the app plays on. Every
+ * strategy handed out is wrapped so that each call's think time, positions
+ * searched and heap allocation go into the registry's
+ * {@link StrategyMetrics} under the strategy's name.
+ *
+ * Strategies are created through factories, so each caller (or thread)
+ * gets its own instance. Each name is registered for one position type,
+ * and asking for it with another type fails. Thread-safe.
+ */
+public final class StrategyRegistry {
+
+    public interface Factory<P> {
+        MoveStrategy<P> create();
+    }
+
+    private final Map<String, Entry<?>> entries = new LinkedHashMap<>();
+    private final StrategyMetrics metrics;
+
+    public StrategyRegistry(StrategyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // Easy, medium, hard and the alpha-beta search on the 3x3 board, sharing
+    // random for their random choices, then MCTS for larger grids and the
+    // Ultimate and Qubic searches at each difficulty
+    public static StrategyRegistry withDefaults(Random random, StrategyMetrics metrics) {
+        StrategyRegistry registry = new StrategyRegistry(metrics);
+        registry.register(Strategies.EASY, () -> Strategies.easy(random));
+        registry.register(Strategies.MEDIUM, () -> Strategies.medium(random));
+        registry.register(Strategies.HARD, Strategies::hard);
+        registry.register(Strategies.ALPHA_BETA, Strategies::alphaBeta);
+        registry.register(Strategies.MCTS, GridBoard.class, Strategies::mcts);
+        for (String difficulty : new String[]{Strategies.EASY, Strategies.MEDIUM, Strategies.HARD}) {
+            int ultimateDepth = Strategies.ultimateDepth(difficulty);
+            registry.register(Strategies.forDifficulty(Strategies.ULTIMATE, difficulty), UltimateBoard.class,
+                    () -> Strategies.ultimate(ultimateDepth));
+            int qubicDepth = Strategies.qubicDepth(difficulty);
+            registry.register(Strategies.forDifficulty(Strategies.QUBIC, difficulty), QubicBoard.class,
+                    () -> Strategies.qubic(qubicDepth));
+        }
+        return registry;
+    }
+
+    // Adds a 3x3 strategy, or replaces the one registered under name
+    public void register(String name, Factory<Board> factory) {
+        register(name, Board.class, factory);
+    }
+
+    // Adds a strategy for positions of the given type, or replaces the one registered under name
+    public synchronized <P> void register(String name, Class<P> positionType, Factory<P> factory) {
+        entries.put(name, new Entry<>(positionType, factory));
+    }
+
+    public synchronized List<String> names() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    // The names registered for positions of the given type
+    public synchronized List<String> names(Class<?> positionType) {
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, Entry<?>> entry : entries.entrySet()) {
+            if (entry.getValue().positionType == positionType) {
+                names.add(entry.getKey());
+            }
+        }
+        return names;
+    }
+
+    // A new instrumented instance of the 3x3 strategy registered under name
+    public MoveStrategy<Board> create(String name) {
+        return create(name, Board.class);
+    }
+
+    // A new instrumented instance of the strategy registered under name for positions of the given type
+    public <P> MoveStrategy<P> create(String name, Class<P> positionType) {
+        Entry<?> entry;
+        synchronized (this) {
+            entry = entries.get(name);
+        }
+        if (entry == null) {
+            throw new IllegalArgumentException("No strategy registered as " + name + ": " + names());
+        }
+        if (entry.positionType != positionType) {
+            throw new IllegalArgumentException("Strategy " + name + " plays on "
+                    + entry.positionType.getSimpleName() + ", not " + positionType.getSimpleName());
+        }
+        @SuppressWarnings("unchecked")
+        Factory<P> factory = (Factory<P>) entry.factory;
+        return new Instrumented<>(factory.create(), metrics.stats(name), metrics.allocationCounter());
+    }
+
+    public StrategyMetrics metrics() {
+        return metrics;
+    }
+
+    private static final class Entry<P> {
+        final Class<P> positionType;
+        final Factory<P> factory;
+
+        Entry(Class<P> positionType, Factory<P> factory) {
+            this.positionType = positionType;
+            this.factory = factory;
+        }
+    }
+
+    private static final class Instrumented<P> implements MoveStrategy<P> {
+        private final MoveStrategy<P> delegate;
+        private final StrategyMetrics.Stats stats;
+        private final StrategyMetrics.AllocationCounter allocations;
+
+        Instrumented(MoveStrategy<P> delegate, StrategyMetrics.Stats stats,
+                     StrategyMetrics.AllocationCounter allocations) {
+            this.delegate = delegate;
+            this.stats = stats;
+            this.allocations = allocations;
+        }
+
+        @Override
+        public int chooseMove(P position, int player, long deadlineNanos) {
+            long allocatedBefore = allocations.allocatedBytes();
+            long start = System.nanoTime();
+            int move = delegate.chooseMove(position, player, deadlineNanos);
+            long thinkNanos = System.nanoTime() - start;
+            long allocatedAfter = allocations.allocatedBytes();
+            stats.record(thinkNanos, delegate.nodes(),
+                    allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore);
+            return move;
+        }
+
+        @Override
+        public long nodes() {
+            return delegate.nodes();
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.tictactoe.engine;
+
+/**
+ * The eight rotations and reflections of the 3x3 board, precomputed as
+ * lookup tables over 9-bit masks.
+ */
+public final class Symmetry {
+
+    public static final int COUNT = 8;
+
+    // CELL_MAP[t][cell] is where cell lands under transform t
+    static final int[][] CELL_MAP = new int[COUNT][Board.CELLS];
+    // INVERSE_CELL_MAP[t] undoes CELL_MAP[t]
+    static final int[][] INVERSE_CELL_MAP = new int[COUNT][Board.CELLS];
+    // MASK_MAP[t][mask] is mask with every cell moved by transform t
+    static final int[][] MASK_MAP = new int[COUNT][1 << Board.CELLS];
+
+    static {
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            int r = cell / 3;
+            int c = cell % 3;
+            CELL_MAP[0][cell] = r * 3 + c;             // Identity
+            CELL_MAP[1][cell] = c * 3 + (2 - r);       // Rotate 90
+            CELL_MAP[2][cell] = (2 - r) * 3 + (2 - c); // Rotate 180
+            CELL_MAP[3][cell] = (2 - c) * 3 + r;       // Rotate 270
+            CELL_MAP[4][cell] = r * 3 + (2 - c);       // Mirror left-right
+            CELL_MAP[5][cell] = (2 - r) * 3 + c;       // Mirror top-bottom
+            CELL_MAP[6][cell] = c * 3 + r;             // Main diagonal
+            CELL_MAP[7][cell] = (2 - c) * 3 + (2 - r); // Anti-diagonal
+        }
+        for (int t = 0; t < COUNT; t++) {
+            for (int cell = 0; cell < Board.CELLS; cell++) {
+                INVERSE_CELL_MAP[t][CELL_MAP[t][cell]] = cell;
+            }
+            for (int mask = 1; mask < MASK_MAP[t].length; mask++) {
+                int low = Integer.numberOfTrailingZeros(mask);
+                MASK_MAP[t][mask] = MASK_MAP[t][mask & (mask - 1)] | (1 << CELL_MAP[t][low]);
+            }
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    public static int transformCell(int transform, int cell) {
+        return CELL_MAP[transform][cell];
+    }
+
+    public static int inverseCell(int transform, int cell) {
+        return INVERSE_CELL_MAP[transform][cell];
+    }
+
+    public static int transformMask(int transform, int mask) {
+        return MASK_MAP[transform][mask];
+    }
+
+    public static long key(int transform, int playerOneMask, int playerTwoMask) {
+        return ((long) MASK_MAP[transform][playerOneMask] << Board.CELLS) | MASK_MAP[transform][playerTwoMask];
+    }
+
+    // Transform that maps the position onto its canonical (smallest key) form
+    public static int canonicalTransform(int playerOneMask, int playerTwoMask) {
+        int bestTransform = 0;
+        long best = key(0, playerOneMask, playerTwoMask);
+        for (int t = 1; t < COUNT; t++) {
+            long key = key(t, playerOneMask, playerTwoMask);
+            if (key < best) {
+                best = key;
+                bestTransform = t;
+            }
+        }
+        return bestTransform;
+    }
+
+    // Same key for all eight symmetric variants of a position
+    public static long canonicalKey(int playerOneMask, int playerTwoMask) {
+        return key(canonicalTransform(playerOneMask, playerTwoMask), playerOneMask, playerTwoMask);
+    }
+
+    public static long canonicalKey(Board board) {
+        return canonicalKey(board.mask(Board.PLAYER_ONE), board.mask(Board.PLAYER_TWO));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tictactoe.engine;
+
+/**
+ * One-move tactical checks shared by the searches.
+ */
+public final class Tactics {
+
+    private Tactics() {
+    }
+
+    // Returns a cell that wins on the spot for player, or -1 if there is none
+    public static int immediateWin(GridBoard board, int player) {
+        if (board.winner() != Board.EMPTY) {
+            return -1;
+        }
+        for (int cell = 0; cell < board.cellCount(); cell++) {
+            if (board.isEmpty(cell) && board.completesLine(cell, player)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+}
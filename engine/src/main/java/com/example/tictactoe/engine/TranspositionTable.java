@@ -0,0 +1,173 @@
+package com.example.tictactoe.engine;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Fixed-size cache of search results keyed by a 64-bit position key.
+ *
+ * Buckets hold two entries: the first keeps the deepest result seen (or any
+ * result left over from an earlier search), the second is always replaced.
+ * That keeps the expensive subtrees while the table is full, so the same
+ * table works for the 3x3 board and for much larger ones.
+ *
+ * Entries are packed into a long and read back with the static accessors.
+ * Not thread-safe.
+ */
+public final class TranspositionTable {
+
+    public static final long MISS = 0L;
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private static final long VALID_BIT = 1L << 63;
+    private static final int MAX_GENERATION = 31;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int bucketMask;
+    private int generation;
+
+    private long hits;
+    private long misses;
+    private long stores;
+    private long evictions;
+
+    // Capacity is rounded up to a power of two, with a minimum of one bucket
+    public TranspositionTable(int capacity) {
+        int buckets = Integer.highestOneBit(Math.max(2, capacity) - 1);
+        keys = new long[buckets * 2];
+        entries = new long[buckets * 2];
+        bucketMask = buckets - 1;
+    }
+
+    public static TranspositionTable withMegabytes(int megabytes) {
+        // 16 bytes per entry: one key and one packed entry
+        return new TranspositionTable(megabytes * (1 << 20) / 16);
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    // Marks earlier results as replaceable without clearing them
+    public void newSearch() {
+        generation = (generation + 1) & MAX_GENERATION;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(entries, 0L);
+        generation = 0;
+        hits = 0;
+        misses = 0;
+        stores = 0;
+        evictions = 0;
+    }
+
+    public long probe(long key) {
+        int slot = bucket(key);
+        if (entries[slot] != MISS && keys[slot] == key) {
+            hits++;
+            return entries[slot];
+        }
+        if (entries[slot + 1] != MISS && keys[slot + 1] == key) {
+            hits++;
+            return entries[slot + 1];
+        }
+        misses++;
+        return MISS;
+    }
+
+    public void store(long key, int value, int depth, int flag, int move) {
+        int slot = bucket(key);
+        long entry = pack(value, depth, flag, move);
+        stores++;
+
+        long preferred = entries[slot];
+        if (preferred == MISS || keys[slot] == key
+                || depth >= depth(preferred) || generation(preferred) != generation) {
+            if (preferred != MISS && keys[slot] != key) {
+                evictions++;
+            }
+            keys[slot] = key;
+            entries[slot] = entry;
+            return;
+        }
+
+        if (entries[slot + 1] != MISS && keys[slot + 1] != key) {
+            evictions++;
+        }
+        keys[slot + 1] = key;
+        entries[slot + 1] = entry;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long stores() {
+        return stores;
+    }
+
+    public long evictions() {
+        return evictions;
+    }
+
+    public double hitRate() {
+        long probes = hits + misses;
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    public static int move(long entry) {
+        return (short) (entry >>> 32);
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 48) & 0xFF;
+    }
+
+    public static int flag(long entry) {
+        return (int) (entry >>> 56) & 0x3;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 58) & MAX_GENERATION;
+    }
+
+    private long pack(int value, int depth, int flag, int move) {
+        return VALID_BIT
+                | ((long) generation << 58)
+                | ((long) (flag & 0x3) << 56)
+                | ((long) (depth & 0xFF) << 48)
+                | ((long) (move & 0xFFFF) << 32)
+                | (value & 0xFFFFFFFFL);
+    }
+
+    private int bucket(long key) {
+        // Fibonacci hashing spreads small or sequential keys across the table
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return ((int) (mixed >>> 32) & bucketMask) << 1;
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable{capacity=" + capacity()
+                + ", hits=" + hits
+                + ", misses=" + misses
+                + ", stores=" + stores
+                + ", evictions=" + evictions
+                + ", hitRate=" + String.format(Locale.US, "%.3f", hitRate())
+                + "}";
+    }
+}
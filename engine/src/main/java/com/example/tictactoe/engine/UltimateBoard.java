@@ -0,0 +1,235 @@
+package com.example.tictactoe.engine;
+
+/**
+ * Ultimate Tic-Tac-Toe: a 3x3 grid of 3x3 sub-boards.
+ *
+ * Cell c is local cell c % 9 of sub-board c / 9, both numbered like
+ * {@link Board}. Each sub-board is two 9-bit occupancy masks, and won or
+ * drawn sub-boards are tracked as 9-bit masks over the big grid, so every
+ * status check is a table lookup. The cell a player picks sends the
+ * opponent to the matching sub-board; if that one is already decided
+ * they may play in any open sub-board. Player one always moves first.
+ */
+public final class UltimateBoard {
+
+    public static final int BOARDS = 9;
+    public static final int CELLS = BOARDS * Board.CELLS;
+    public static final int ANY_BOARD = -1;
+
+    // Sub-board status
+    public static final int OPEN = 0;
+    public static final int DRAWN = 3; // Otherwise the winning player
+
+    // True for every 9-bit mask that contains a full line
+    private static final boolean[] HAS_LINE = new boolean[1 << Board.CELLS];
+
+    static {
+        for (int mask = 0; mask < HAS_LINE.length; mask++) {
+            HAS_LINE[mask] = Board.isWin(mask);
+        }
+    }
+
+    private final int[] playerOneMasks = new int[BOARDS];
+    private final int[] playerTwoMasks = new int[BOARDS];
+    private int playerOneBoards; // Sub-boards won by player one
+    private int playerTwoBoards;
+    private int drawnBoards;
+    private int nextBoard = ANY_BOARD;
+    private int sideToMove = Board.PLAYER_ONE;
+    private int winner = Board.EMPTY;
+    // Marks and the sub-board the side to move is sent to; the side itself follows from the move count
+    private long key;
+
+    // Everything undo() needs to step back one move
+    private final byte[] moves = new byte[CELLS];
+    private final byte[] previousNextBoard = new byte[CELLS];
+    private int moveCount;
+
+    public static int boardOf(int cell) {
+        return cell / Board.CELLS;
+    }
+
+    public static int localCell(int cell) {
+        return cell % Board.CELLS;
+    }
+
+    public int get(int cell) {
+        int sub = boardOf(cell);
+        int bit = 1 << localCell(cell);
+        if ((playerOneMasks[sub] & bit) != 0) return Board.PLAYER_ONE;
+        if ((playerTwoMasks[sub] & bit) != 0) return Board.PLAYER_TWO;
+        return Board.EMPTY;
+    }
+
+    public int sideToMove() {
+        return sideToMove;
+    }
+
+    // The sub-board the side to move must play in, or ANY_BOARD
+    public int nextBoard() {
+        return nextBoard;
+    }
+
+    public int boardStatus(int sub) {
+        int bit = 1 << sub;
+        if ((playerOneBoards & bit) != 0) return Board.PLAYER_ONE;
+        if ((playerTwoBoards & bit) != 0) return Board.PLAYER_TWO;
+        if ((drawnBoards & bit) != 0) return DRAWN;
+        return OPEN;
+    }
+
+    // Sub-boards that are won or drawn, as a 9-bit mask
+    public int closedBoards() {
+        return playerOneBoards | playerTwoBoards | drawnBoards;
+    }
+
+    public int boardsWon(int player) {
+        return player == Board.PLAYER_ONE ? playerOneBoards : playerTwoBoards;
+    }
+
+    public int subBoardMask(int sub, int player) {
+        return player == Board.PLAYER_ONE ? playerOneMasks[sub] : playerTwoMasks[sub];
+    }
+
+    // Empty cells of an open sub-board, as a 9-bit mask (0 once it is decided)
+    public int openCells(int sub) {
+        if ((closedBoards() & (1 << sub)) != 0) {
+            return 0;
+        }
+        return ~(playerOneMasks[sub] | playerTwoMasks[sub]) & Board.FULL_MASK;
+    }
+
+    public boolean isLegal(int cell) {
+        if (isOver()) {
+            return false;
+        }
+        int sub = boardOf(cell);
+        if (nextBoard != ANY_BOARD && nextBoard != sub) {
+            return false;
+        }
+        return (openCells(sub) & (1 << localCell(cell))) != 0;
+    }
+
+    // Writes the legal moves into moves and returns how many there are
+    public int legalMoves(int[] moves) {
+        if (isOver()) {
+            return 0;
+        }
+        int count = 0;
+        int first = nextBoard == ANY_BOARD ? 0 : nextBoard;
+        int last = nextBoard == ANY_BOARD ? BOARDS - 1 : nextBoard;
+        for (int sub = first; sub <= last; sub++) {
+            for (int open = openCells(sub); open != 0; open &= open - 1) {
+                moves[count++] = sub * Board.CELLS + Integer.numberOfTrailingZeros(open);
+            }
+        }
+        return count;
+    }
+
+    // Plays cell for the side to move; the cell must be legal
+    public void place(int cell) {
+        int sub = boardOf(cell);
+        int local = localCell(cell);
+        moves[moveCount] = (byte) cell;
+        previousNextBoard[moveCount] = (byte) nextBoard;
+        moveCount++;
+
+        int mask;
+        if (sideToMove == Board.PLAYER_ONE) {
+            mask = playerOneMasks[sub] |= 1 << local;
+        } else {
+            mask = playerTwoMasks[sub] |= 1 << local;
+        }
+        key ^= Zobrist.cell(sideToMove, cell) ^ Zobrist.nextBoard(nextBoard);
+
+        if (HAS_LINE[mask]) {
+            if (sideToMove == Board.PLAYER_ONE) {
+                playerOneBoards |= 1 << sub;
+                if (HAS_LINE[playerOneBoards]) winner = Board.PLAYER_ONE;
+            } else {
+                playerTwoBoards |= 1 << sub;
+                if (HAS_LINE[playerTwoBoards]) winner = Board.PLAYER_TWO;
+            }
+        } else if ((playerOneMasks[sub] | playerTwoMasks[sub]) == Board.FULL_MASK) {
+            drawnBoards |= 1 << sub;
+        }
+
+        nextBoard = (closedBoards() & (1 << local)) != 0 ? ANY_BOARD : local;
+        key ^= Zobrist.nextBoard(nextBoard);
+        sideToMove = Board.opponent(sideToMove);
+    }
+
+    // Takes back the last move
+    public void undo() {
+        moveCount--;
+        int cell = moves[moveCount];
+        int sub = boardOf(cell);
+        int keep = ~(1 << localCell(cell));
+        int subBit = ~(1 << sub);
+        playerOneMasks[sub] &= keep;
+        playerTwoMasks[sub] &= keep;
+        // Only the sub-board just played in can have changed status
+        playerOneBoards &= subBit;
+        playerTwoBoards &= subBit;
+        drawnBoards &= subBit;
+        winner = Board.EMPTY;
+        sideToMove = Board.opponent(sideToMove);
+        key ^= Zobrist.cell(sideToMove, cell) ^ Zobrist.nextBoard(nextBoard);
+        nextBoard = previousNextBoard[moveCount];
+        key ^= Zobrist.nextBoard(nextBoard);
+    }
+
+    public int winner() {
+        return winner;
+    }
+
+    // Won, or every sub-board is decided without a winner
+    public boolean isOver() {
+        return winner != Board.EMPTY || closedBoards() == Board.FULL_MASK;
+    }
+
+    public int moveCount() {
+        return moveCount;
+    }
+
+    public int lastMove() {
+        return moveCount > 0 ? moves[moveCount - 1] : -1;
+    }
+
+    // Zobrist key of the position, kept up to date by place() and undo()
+    public long key() {
+        return key;
+    }
+
+    public void clear() {
+        for (int sub = 0; sub < BOARDS; sub++) {
+            playerOneMasks[sub] = 0;
+            playerTwoMasks[sub] = 0;
+        }
+        playerOneBoards = 0;
+        playerTwoBoards = 0;
+        drawnBoards = 0;
+        nextBoard = ANY_BOARD;
+        sideToMove = Board.PLAYER_ONE;
+        winner = Board.EMPTY;
+        moveCount = 0;
+        key = 0;
+    }
+
+    public UltimateBoard copy() {
+        UltimateBoard copy = new UltimateBoard();
+        System.arraycopy(playerOneMasks, 0, copy.playerOneMasks, 0, BOARDS);
+        System.arraycopy(playerTwoMasks, 0, copy.playerTwoMasks, 0, BOARDS);
+        System.arraycopy(moves, 0, copy.moves, 0, moveCount);
+        System.arraycopy(previousNextBoard, 0, copy.previousNextBoard, 0, moveCount);
+        copy.playerOneBoards = playerOneBoards;
+        copy.playerTwoBoards = playerTwoBoards;
+        copy.drawnBoards = drawnBoards;
+        copy.nextBoard = nextBoard;
+        copy.sideToMove = sideToMove;
+        copy.winner = winner;
+        copy.moveCount = moveCount;
+        copy.key = key;
+        return copy;
+    }
+}
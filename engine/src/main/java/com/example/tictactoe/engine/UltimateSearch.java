@@ -0,0 +1,320 @@
+package com.example.tictactoe.engine;
+
+/**
+ * Iterative-deepening negamax with alpha-beta pruning over an
+ * {@link UltimateBoard}, bounded by a wall-clock budget.
+ *
+ * Moves are tried previous best (or transposition-table move) first,
+ * then killer moves, then moves
+ * that win a sub-board, then by history score; moves that hand the
+ * opponent a free choice of sub-board are tried last. Leaves are scored
+ * from sub-boards won, open lines on the big grid and two-in-a-rows
+ * inside open sub-boards, all read from the masks through lookup tables.
+ *
+ * Scores are from the side to move's point of view. The optional
+ * {@link TranspositionTable} is keyed by {@link UltimateBoard#key()}.
+ * Instances keep their buffers between searches and are not thread-safe.
+ */
+public final class UltimateSearch {
+
+    public static final int WIN_SCORE = 1_000_000;
+    public static final long NO_TIME_LIMIT = 0L;
+
+    private static final int MAX_PLY = UltimateBoard.CELLS + 1;
+    private static final int MATE_THRESHOLD = WIN_SCORE - MAX_PLY;
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int CLOCK_CHECK_MASK = 4095;
+
+    // Value of a big-grid square: center, then corners, then edges
+    private static final int[] SQUARE_WEIGHT = {3, 2, 3, 2, 4, 2, 3, 2, 3};
+    private static final int SUB_BOARD_WON = 100;
+    private static final int BIG_GRID_THREAT = 250;
+    private static final int SUB_BOARD_THREAT = 12;
+
+    private static final int ORDER_KILLER = 1 << 28;
+    private static final int ORDER_CAPTURE = 1 << 24;
+    private static final int ORDER_FREE_MOVE_PENALTY = 1 << 22;
+
+    private final TranspositionTable table;
+    private final int[][] moveBuffer = new int[MAX_PLY][UltimateBoard.CELLS];
+    private final int[][] orderBuffer = new int[MAX_PLY][UltimateBoard.CELLS];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[3][UltimateBoard.CELLS];
+
+    private long deadline;
+    private boolean aborted;
+    private int rootBestMove;
+
+    private long nodes;
+    private int score;
+    private int completedDepth;
+    private long elapsedNanos;
+
+    public UltimateSearch() {
+        this(null);
+    }
+
+    public UltimateSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    // Returns the best cell for the side to move, or -1 if the game is over
+    public int search(UltimateBoard board, long budgetNanos, int maxDepth) {
+        long start = System.nanoTime();
+        deadline = budgetNanos <= NO_TIME_LIMIT ? Long.MAX_VALUE : start + budgetNanos;
+        aborted = false;
+        nodes = 0;
+        score = 0;
+        completedDepth = 0;
+        prepareHeuristics();
+        if (table != null) {
+            table.newSearch();
+        }
+
+        int remaining = UltimateBoard.CELLS - board.moveCount();
+        int bestMove = -1;
+        if (!board.isOver()) {
+            for (int depth = 1; depth <= Math.min(maxDepth, remaining); depth++) {
+                int iterationScore = searchRoot(board, depth, bestMove);
+                if (aborted) {
+                    break;
+                }
+                bestMove = rootBestMove;
+                score = iterationScore;
+                completedDepth = depth;
+                // A forced result inside the searched horizon cannot be improved on; one
+                // reported from a deeper table entry might be. A win on move n scores
+                // WIN_SCORE - n here, one less than in AlphaBetaSearch, hence <= for its <.
+                if (Math.abs(iterationScore) >= MATE_THRESHOLD
+                        && WIN_SCORE - Math.abs(iterationScore) <= depth) {
+                    break;
+                }
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    public int search(UltimateBoard board, long budgetNanos) {
+        return search(board, budgetNanos, MAX_PLY);
+    }
+
+    // Positions visited by the last search
+    public long nodes() {
+        return nodes;
+    }
+
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    // Score of the move returned by the last search
+    public int score() {
+        return score;
+    }
+
+    public int completedDepth() {
+        return completedDepth;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    private int searchRoot(UltimateBoard board, int depth, int previousBest) {
+        int count = orderMoves(board, 0, previousBest);
+        int[] moves = moveBuffer[0];
+        int alpha = -INFINITY;
+        rootBestMove = moves[0];
+
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.place(move);
+            int value = -negamax(board, depth - 1, 1, -INFINITY, -alpha);
+            board.undo();
+            if (aborted) {
+                return 0;
+            }
+            if (value > alpha) {
+                alpha = value;
+                rootBestMove = move;
+            }
+        }
+        return alpha;
+    }
+
+    private int negamax(UltimateBoard board, int depth, int ply, int alpha, int beta) {
+        nodes++;
+        if ((nodes & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+            return 0;
+        }
+
+        if (board.winner() != Board.EMPTY) {
+            return -(WIN_SCORE - ply); // The move into this node won
+        }
+        if (board.isOver()) {
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluate(board, board.sideToMove());
+        }
+
+        int alphaOriginal = alpha;
+        int ttMove = -1;
+        long key = board.key();
+        if (table != null) {
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) {
+                ttMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int value = fromTable(TranspositionTable.value(entry), ply);
+                    int flag = TranspositionTable.flag(entry);
+                    if (flag == TranspositionTable.EXACT) return value;
+                    if (flag == TranspositionTable.LOWER_BOUND) alpha = Math.max(alpha, value);
+                    else beta = Math.min(beta, value);
+                    if (alpha >= beta) return value;
+                }
+            }
+        }
+
+        int player = board.sideToMove();
+        int count = orderMoves(board, ply, ttMove);
+        int[] moves = moveBuffer[ply];
+        int best = -INFINITY;
+        int bestMove = moves[0];
+
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.place(move);
+            int value = -negamax(board, depth - 1, ply + 1, -beta, -alpha);
+            board.undo();
+            if (aborted) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = move;
+            }
+            if (value > alpha) {
+                alpha = value;
+            }
+            if (alpha >= beta) {
+                recordCutoff(player, ply, depth, move);
+                break;
+            }
+        }
+
+        if (table != null) {
+            int flag = best <= alphaOriginal ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND
+                    : TranspositionTable.EXACT;
+            table.store(key, toTable(best, ply), depth, flag, bestMove);
+        }
+        return best;
+    }
+
+    // Fills moveBuffer[ply] with the legal moves, best candidates first
+    private int orderMoves(UltimateBoard board, int ply, int firstMove) {
+        int[] moves = moveBuffer[ply];
+        int[] order = orderBuffer[ply];
+        int player = board.sideToMove();
+        int count = board.legalMoves(moves);
+        int closed = board.closedBoards();
+
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int sub = UltimateBoard.boardOf(move);
+            int local = UltimateBoard.localCell(move);
+            int key;
+            if (move == firstMove) {
+                key = Integer.MAX_VALUE;
+            } else if (move == killers[ply][0]) {
+                key = ORDER_KILLER + 1;
+            } else if (move == killers[ply][1]) {
+                key = ORDER_KILLER;
+            } else {
+                key = history[player][move];
+                if ((Board.completingCells(board.subBoardMask(sub, player)) & (1 << local)) != 0) {
+                    key += ORDER_CAPTURE;
+                }
+                // Sending the opponent to a decided sub-board lets them play anywhere
+                if ((closed & (1 << local)) != 0) {
+                    key -= ORDER_FREE_MOVE_PENALTY;
+                }
+            }
+            // Insertion sort, descending by key
+            int j = i;
+            while (j > 0 && order[j - 1] < key) {
+                moves[j] = moves[j - 1];
+                order[j] = order[j - 1];
+                j--;
+            }
+            moves[j] = move;
+            order[j] = key;
+        }
+        return count;
+    }
+
+    private void recordCutoff(int player, int ply, int depth, int move) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        history[player][move] = Math.min(ORDER_FREE_MOVE_PENALTY - 1, history[player][move] + depth * depth);
+    }
+
+    private void prepareHeuristics() {
+        for (int[] pair : killers) {
+            pair[0] = -1;
+            pair[1] = -1;
+        }
+        // Age history so one game's statistics do not dominate the next
+        for (int[] scores : history) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] >>= 1;
+            }
+        }
+    }
+
+    // Win and loss scores depend on the ply they are found at; the table
+    // stores them relative to the node so any path can reuse them.
+    private static int toTable(int value, int ply) {
+        if (value >= MATE_THRESHOLD) return value + ply;
+        if (value <= -MATE_THRESHOLD) return value - ply;
+        return value;
+    }
+
+    private static int fromTable(int value, int ply) {
+        if (value >= MATE_THRESHOLD) return value - ply;
+        if (value <= -MATE_THRESHOLD) return value + ply;
+        return value;
+    }
+
+    private static int evaluate(UltimateBoard board, int player) {
+        return evaluateSide(board, player) - evaluateSide(board, Board.opponent(player));
+    }
+
+    private static int evaluateSide(UltimateBoard board, int player) {
+        int won = board.boardsWon(player);
+        int value = 0;
+        for (int sub = won; sub != 0; sub &= sub - 1) {
+            value += SUB_BOARD_WON * SQUARE_WEIGHT[Integer.numberOfTrailingZeros(sub)];
+        }
+
+        // Squares that would finish a big-grid line and are still open
+        int blocked = board.closedBoards() & ~won;
+        value += BIG_GRID_THREAT * Integer.bitCount(Board.completingCells(won) & ~blocked & Board.FULL_MASK);
+
+        // Two-in-a-rows inside open sub-boards
+        for (int open = ~board.closedBoards() & Board.FULL_MASK; open != 0; open &= open - 1) {
+            int sub = Integer.numberOfTrailingZeros(open);
+            int threats = Board.completingCells(board.subBoardMask(sub, player)) & board.openCells(sub);
+            value += SUB_BOARD_THREAT * SQUARE_WEIGHT[sub] * Integer.bitCount(threats);
+        }
+        return value;
+    }
+}
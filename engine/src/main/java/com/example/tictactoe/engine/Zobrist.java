@@ -0,0 +1,54 @@
+package com.example.tictactoe.engine;
+
+/**
+ * Fixed random keys for Zobrist hashing: a position's key is the XOR of
+ * the keys of its marks, so placing or removing a mark updates it with a
+ * single XOR instead of rehashing the whole board.
+ *
+ * The same cell keys serve every board shape, up to the largest grid.
+ * Keys come from a fixed seed, so a position has the same key in every
+ * run.
+ */
+public final class Zobrist {
+
+    public static final int MAX_CELLS = GridBoard.MAX_SIZE * GridBoard.MAX_SIZE;
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    // Indexed by player, then cell; the EMPTY row stays zero
+    private static final long[][] CELL_KEYS = new long[3][MAX_CELLS];
+    // The sub-board an Ultimate player is sent to; playing anywhere is zero
+    private static final long[] NEXT_BOARD_KEYS = new long[UltimateBoard.BOARDS];
+
+    static {
+        long state = SEED;
+        for (int player = Board.PLAYER_ONE; player <= Board.PLAYER_TWO; player++) {
+            for (int cell = 0; cell < MAX_CELLS; cell++) {
+                state += 0x9E3779B97F4A7C15L;
+                CELL_KEYS[player][cell] = mix(state);
+            }
+        }
+        for (int sub = 0; sub < NEXT_BOARD_KEYS.length; sub++) {
+            state += 0x9E3779B97F4A7C15L;
+            NEXT_BOARD_KEYS[sub] = mix(state);
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    public static long cell(int player, int cell) {
+        return CELL_KEYS[player][cell];
+    }
+
+    public static long nextBoard(int sub) {
+        return sub == UltimateBoard.ANY_BOARD ? 0L : NEXT_BOARD_KEYS[sub];
+    }
+
+    // SplitMix64 finalizer: every input bit affects every output bit
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
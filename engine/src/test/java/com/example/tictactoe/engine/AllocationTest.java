@@ -0,0 +1,65 @@
+package com.example.tictactoe.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Choosing a computer move must allocate nothing on the heap, at every
+ * difficulty. Measured with the JVM's per-thread allocation counter over
+ * self-play games with every pairing, after the same games have warmed
+ * the code up.
+ */
+public class AllocationTest {
+
+    private static final String[] STRATEGIES = {Strategies.EASY, Strategies.MEDIUM, Strategies.HARD};
+    private static final int WARMUP_ROUNDS = 50_000;
+    private static final int MEASURED_ROUNDS = 50_000;
+
+    @Test
+    public void choosingAMoveAllocatesNothing() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue("Thread allocation counters are not available on this JVM",
+                bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long threadId = Thread.currentThread().getId();
+
+        Board board = new Board();
+        Random random = new Random(7);
+        playRounds(board, random, WARMUP_ROUNDS);
+
+        // The counter itself must not allocate, or the assertion could never pass
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long overhead = threads.getThreadAllocatedBytes(threadId) - before;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        long moves = playRounds(board, random, MEASURED_ROUNDS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        assertEquals("Bytes allocated over " + moves + " computer moves", 0, allocated);
+    }
+
+    // Plays every strategy pairing once per round; returns the number of moves made
+    private static long playRounds(Board board, Random random, int rounds) {
+        long moves = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (String first : STRATEGIES) {
+                for (String second : STRATEGIES) {
+                    board.clear();
+                    int player = Board.PLAYER_ONE;
+                    while (board.winner() == Board.EMPTY && !board.isFull()) {
+                        String strategy = player == Board.PLAYER_ONE ? first : second;
+                        board.place(Strategies.chooseMove(strategy, board, player, random), player);
+                        player = Board.opponent(player);
+                        moves++;
+                    }
+                }
+            }
+        }
+        return moves;
+    }
+}
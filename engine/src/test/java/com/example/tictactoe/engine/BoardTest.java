@@ -0,0 +1,109 @@
+package com.example.tictactoe.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BoardTest {
+
+    @Test
+    public void everyLineWinsForEitherPlayer() {
+        for (int line : Board.WIN_MASKS) {
+            for (int player = Board.PLAYER_ONE; player <= Board.PLAYER_TWO; player++) {
+                Board board = new Board();
+                for (int bits = line; bits != 0; bits &= bits - 1) {
+                    board.place(Integer.numberOfTrailingZeros(bits), player);
+                }
+                assertEquals(player, board.winner());
+            }
+        }
+    }
+
+    @Test
+    public void winnerMatchesALineScanForEveryMask() {
+        for (int mask = 0; mask <= Board.FULL_MASK; mask++) {
+            Board board = new Board();
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                board.place(Integer.numberOfTrailingZeros(bits), Board.PLAYER_TWO);
+            }
+            assertEquals(hasLine(mask) ? Board.PLAYER_TWO : Board.EMPTY, board.winner());
+        }
+    }
+
+    @Test
+    public void undoRestoresThePosition() {
+        Board board = new Board();
+        board.place(4, Board.PLAYER_ONE);
+        Board before = board.copy();
+        board.place(0, Board.PLAYER_TWO);
+        board.undo(0);
+
+        assertEquals(before.mask(Board.PLAYER_ONE), board.mask(Board.PLAYER_ONE));
+        assertEquals(before.mask(Board.PLAYER_TWO), board.mask(Board.PLAYER_TWO));
+        assertEquals(before.key(), board.key());
+        assertTrue(board.isEmpty(0));
+        assertEquals(1, board.moveCount());
+    }
+
+    @Test
+    public void emptyCellsAreListedInAscendingOrder() {
+        Board board = new Board();
+        board.place(0, Board.PLAYER_ONE);
+        board.place(4, Board.PLAYER_TWO);
+        board.place(5, Board.PLAYER_ONE);
+
+        int[] expected = {1, 2, 3, 6, 7, 8};
+        assertEquals(expected.length, Integer.bitCount(board.emptyMask()));
+        for (int n = 0; n < expected.length; n++) {
+            assertEquals(expected[n], board.emptyCell(n));
+        }
+    }
+
+    @Test
+    public void winningMovesAreEmptyCellsThatCompleteALine() {
+        Board board = new Board();
+        board.place(0, Board.PLAYER_ONE);
+        board.place(1, Board.PLAYER_ONE);
+        board.place(4, Board.PLAYER_ONE);
+        board.place(8, Board.PLAYER_TWO);
+
+        // 2 completes the top row and 7 the middle column; 8 would complete the diagonal but is taken
+        assertEquals(1 << 2 | 1 << 7, board.winningMoves(Board.PLAYER_ONE));
+        assertEquals(0, board.winningMoves(Board.PLAYER_TWO));
+    }
+
+    @Test
+    public void fullBoardWithoutALineIsADraw() {
+        Board board = new Board();
+        int[] players = {1, 2, 1, 1, 2, 2, 2, 1, 1};
+        for (int cell = 0; cell < players.length; cell++) {
+            board.place(cell, players[cell]);
+        }
+        assertTrue(board.isFull());
+        assertEquals(Board.EMPTY, board.winner());
+        assertEquals(0, board.emptyMask());
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        Board board = new Board();
+        board.place(4, Board.PLAYER_ONE);
+        Board copy = board.copy();
+        copy.place(0, Board.PLAYER_TWO);
+
+        assertTrue(board.isEmpty(0));
+        assertFalse(copy.isEmpty(0));
+    }
+
+    private static boolean hasLine(int mask) {
+        int[][] lines = {{0, 1, 2}, {3, 4, 5}, {6, 7, 8}, {0, 3, 6}, {1, 4, 7}, {2, 5, 8}, {0, 4, 8}, {2, 4, 6}};
+        for (int[] line : lines) {
+            if ((mask >> line[0] & mask >> line[1] & mask >> line[2] & 1) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
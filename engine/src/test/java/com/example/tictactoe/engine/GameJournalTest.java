@@ -0,0 +1,100 @@
+package com.example.tictactoe.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GameJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void gamesComeBackInOrder() throws Exception {
+        File file = folder.newFile("games.bin");
+        file.delete();
+        write(file, game(4, 0, 8), game(0, 1, 2, 3, 4, 5, 6), game());
+
+        assertGames(file, game(4, 0, 8), game(0, 1, 2, 3, 4, 5, 6), game());
+    }
+
+    @Test
+    public void cutOffLastRecordIsDroppedOnReopen() throws Exception {
+        File file = folder.newFile("games.bin");
+        file.delete();
+        write(file, game(4, 0, 8), game(0, 1, 2, 3, 4));
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.setLength(file.length() - 1);
+        }
+
+        write(file, game(2, 6));
+
+        assertGames(file, game(4, 0, 8), game(2, 6));
+    }
+
+    @Test
+    public void badRecordBeforeTheEndIsMovedAsideNotCut() throws Exception {
+        File file = folder.newFile("games.bin");
+        file.delete();
+        write(file, game(4, 0, 8), game(0, 1, 2), game(5, 3));
+        // Low bits set in the second game's first byte make it unreadable; the third is intact
+        long second = GameJournal.FILE_HEADER_BYTES + game(4, 0, 8).encodedLength();
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(second);
+            out.write(0x03);
+        }
+        byte[] damaged = Files.readAllBytes(file.toPath());
+
+        write(file, game(7));
+
+        File[] aside = folder.getRoot().listFiles((dir, name) -> name.startsWith("games.bin.damaged-"));
+        assertNotNull(aside);
+        assertEquals(1, aside.length);
+        assertArrayEquals(damaged, Files.readAllBytes(aside[0].toPath()));
+        assertGames(file, game(7));
+    }
+
+    private static GameRecord game(int... moves) {
+        GameRecord record = new GameRecord();
+        record.reset(GameRecord.MODE_COMPUTER, GameRecord.DIFFICULTY_HARD);
+        for (int move : moves) {
+            record.addMove(move);
+        }
+        return record;
+    }
+
+    private static void write(File file, GameRecord... games) throws Exception {
+        GameJournal journal = new GameJournal(file);
+        for (GameRecord game : games) {
+            journal.append(game);
+        }
+        journal.close().get();
+        assertNull(journal.failure());
+    }
+
+    private static void assertGames(File file, GameRecord... expected) throws IOException {
+        GameRecord actual = new GameRecord();
+        try (GameJournalReader reader = new GameJournalReader(file)) {
+            for (GameRecord game : expected) {
+                assertTrue(reader.next(actual));
+                assertEquals(game.moveCount(), actual.moveCount());
+                for (int i = 0; i < game.moveCount(); i++) {
+                    assertEquals(game.move(i), actual.move(i));
+                }
+            }
+            assertFalse(reader.next(actual));
+            assertFalse(reader.damaged());
+        }
+    }
+}
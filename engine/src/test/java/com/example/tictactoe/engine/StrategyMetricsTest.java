@@ -0,0 +1,75 @@
+package com.example.tictactoe.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class StrategyMetricsTest {
+
+    @Test
+    public void allocationsAreExportedWhenCounted() {
+        long[] allocated = {0};
+        StrategyMetrics metrics = new StrategyMetrics(() -> allocated[0]);
+        StrategyRegistry registry = new StrategyRegistry(metrics);
+        registry.register("counted", () -> new Allocating(allocated));
+        MoveStrategy<Board> strategy = registry.create("counted");
+        strategy.chooseMove(new Board(), Board.PLAYER_ONE, MoveStrategy.NO_DEADLINE);
+        assertTrue(metrics.toJson(), metrics.toJson().contains("\"allocatedBytes\":64,"));
+    }
+
+    @Test
+    public void allocationsAreLeftOutWhenUnknown() {
+        StrategyMetrics metrics = new StrategyMetrics();
+        MoveStrategy<Board> strategy = StrategyRegistry.withDefaults(new Random(1), metrics)
+                .create(Strategies.HARD);
+        strategy.chooseMove(new Board(), Board.PLAYER_ONE, MoveStrategy.NO_DEADLINE);
+        assertTrue(metrics.toJson(), metrics.toJson().contains("\"calls\":1,"));
+        assertFalse(metrics.toJson(), metrics.toJson().contains("allocatedBytes"));
+    }
+
+    @Test
+    public void nodesAreAveragedPerMove() {
+        StrategyMetrics metrics = new StrategyMetrics();
+        StrategyRegistry registry = StrategyRegistry.withDefaults(new Random(1), metrics);
+        MoveStrategy<Board> alphaBeta = registry.create(Strategies.ALPHA_BETA);
+        MoveStrategy<Board> hard = registry.create(Strategies.HARD);
+        Board board = new Board();
+        long nodes = 0;
+        for (int player = Board.PLAYER_ONE; board.winner() == Board.EMPTY && !board.isFull();
+                player = Board.opponent(player)) {
+            board.place(alphaBeta.chooseMove(board, player, MoveStrategy.NO_DEADLINE), player);
+            nodes += alphaBeta.nodes();
+            hard.chooseMove(board, player, MoveStrategy.NO_DEADLINE);
+        }
+        assertEquals((double) nodes / metrics.calls(Strategies.ALPHA_BETA),
+                metrics.averageNodes(Strategies.ALPHA_BETA), 1e-9);
+        assertEquals(0.0, metrics.averageNodes(Strategies.HARD), 0.0);
+    }
+
+    // Reports 64 bytes allocated by every call
+    private static final class Allocating implements MoveStrategy<Board> {
+        private final long[] allocated;
+
+        Allocating(long[] allocated) {
+            this.allocated = allocated;
+        }
+
+        @Override
+        public int chooseMove(Board position, int player, long deadlineNanos) {
+            allocated[0] += 64;
+            return position.emptyCell(0);
+        }
+
+        @Override
+        public long nodes() {
+            return 0;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
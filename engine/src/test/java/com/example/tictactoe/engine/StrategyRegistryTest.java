@@ -0,0 +1,66 @@
+package com.example.tictactoe.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class StrategyRegistryTest {
+
+    private static final long BUDGET_NANOS = 20_000_000L;
+
+    private final StrategyMetrics metrics = new StrategyMetrics();
+    private final StrategyRegistry registry = StrategyRegistry.withDefaults(new Random(1), metrics);
+
+    @Test
+    public void namesAreListedPerPositionType() {
+        assertEquals(Arrays.asList(Strategies.EASY, Strategies.MEDIUM, Strategies.HARD, Strategies.ALPHA_BETA),
+                registry.names(Board.class));
+        assertEquals(Arrays.asList(Strategies.MCTS), registry.names(GridBoard.class));
+        assertEquals(Arrays.asList("ultimate-easy", "ultimate-medium", "ultimate-hard"),
+                registry.names(UltimateBoard.class));
+        assertEquals(Arrays.asList("qubic-easy", "qubic-medium", "qubic-hard"), registry.names(QubicBoard.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void askingForTheWrongPositionTypeFails() {
+        registry.create(Strategies.MCTS, Board.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void askingForAnUnknownNameFails() {
+        registry.create("minimax");
+    }
+
+    @Test
+    public void everyGameRecordsItsMovesUnderItsName() {
+        MoveStrategy<GridBoard> mcts = registry.create(Strategies.MCTS, GridBoard.class);
+        MoveStrategy<UltimateBoard> ultimate = registry.create(
+                Strategies.forDifficulty(Strategies.ULTIMATE, Strategies.MEDIUM), UltimateBoard.class);
+        MoveStrategy<QubicBoard> qubic = registry.create(
+                Strategies.forDifficulty(Strategies.QUBIC, Strategies.MEDIUM), QubicBoard.class);
+        try {
+            GridBoard grid = new GridBoard(5, 4);
+            int gridMove = mcts.chooseMove(grid, Board.PLAYER_TWO, System.nanoTime() + BUDGET_NANOS);
+            assertTrue(grid.isEmpty(gridMove));
+            assertTrue(mcts.nodes() > 0);
+
+            UltimateBoard ultimateBoard = new UltimateBoard();
+            assertTrue(ultimateBoard.isLegal(
+                    ultimate.chooseMove(ultimateBoard, Board.PLAYER_ONE, System.nanoTime() + BUDGET_NANOS)));
+
+            QubicBoard qubicBoard = new QubicBoard();
+            int qubicMove = qubic.chooseMove(qubicBoard, Board.PLAYER_ONE, System.nanoTime() + BUDGET_NANOS);
+            assertTrue(qubicMove >= 0 && qubicMove < QubicBoard.CELLS);
+        } finally {
+            mcts.shutdown();
+            ultimate.shutdown();
+            qubic.shutdown();
+        }
+        assertEquals(1, metrics.calls(Strategies.MCTS));
+        assertEquals(1, metrics.calls("ultimate-medium"));
+        assertEquals(1, metrics.calls("qubic-medium"));
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.tictactoe.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Collision rates of the boards' Zobrist keys.
+ *
+ * Every reachable 3x3 and 4x4 (four in a row) position is enumerated;
+ * 19x19 five in a row, Qubic and Ultimate positions are sampled from
+ * seeded random games. At every position the incrementally updated key
+ * must equal one computed from scratch. Distinct positions must have
+ * distinct 64-bit keys, and as a check on how evenly the keys spread,
+ * collisions in their low 32 bits may not exceed twice the birthday-bound
+ * expectation for random keys. (On 4x4 a key is the XOR of only 32 of
+ * them, so its low 32 bits collide less often than that.)
+ */
+public class ZobristTest {
+
+    private static final int SAMPLED_POSITIONS = 500_000;
+
+    @Test
+    public void threeByThreeKeysAreExactAndDistinct() {
+        Map<Long, Integer> seen = new HashMap<>();
+        long[] collisions = new long[1];
+        walkThreeByThree(new Board(), Board.PLAYER_ONE, seen, collisions);
+        report("3x3", seen.size(), collisions[0], keysOf(seen));
+    }
+
+    private static void walkThreeByThree(Board board, int player, Map<Long, Integer> seen, long[] collisions) {
+        long scratch = 0;
+        for (int cell = 0; cell < Board.CELLS; cell++) {
+            scratch ^= Zobrist.cell(board.get(cell), cell);
+        }
+        expectKey("3x3", board.key(), scratch);
+        int position = board.mask(Board.PLAYER_ONE) | board.mask(Board.PLAYER_TWO) << Board.CELLS;
+        Integer previous = seen.put(board.key(), position);
+        if (previous != null) {
+            if (previous != position) {
+                collisions[0]++;
+            }
+            return; // Reached before by another move order
+        }
+        if (board.winner() != Board.EMPTY) {
+            return;
+        }
+        for (int empty = board.emptyMask(); empty != 0; empty &= empty - 1) {
+            int cell = Integer.numberOfTrailingZeros(empty);
+            board.place(cell, player);
+            walkThreeByThree(board, Board.opponent(player), seen, collisions);
+            board.undo(cell);
+        }
+    }
+
+    // Positions are deduplicated by their exact base-3 index, so any equal keys collide
+    @Test
+    public void fourByFourKeysAreExactAndDistinct() {
+        GridBoard board = new GridBoard(4, 4);
+        BitSet visited = new BitSet(43_046_721); // 3^16
+        long[][] keys = {new long[1 << 20]};
+        int[] count = new int[1];
+        walkFourByFour(board, Board.PLAYER_ONE, 0, -1, visited, keys, count);
+        long[] distinct = Arrays.copyOf(keys[0], count[0]);
+        report("4x4", count[0], pairsOfEqual(distinct, -1L), distinct);
+    }
+
+    private static void walkFourByFour(GridBoard board, int player, int index, int lastMove,
+                                       BitSet visited, long[][] keys, int[] count) {
+        if (visited.get(index)) {
+            return;
+        }
+        visited.set(index);
+        expectKey("4x4", board.key(), scratchKey(board));
+        if (count[0] == keys[0].length) {
+            keys[0] = Arrays.copyOf(keys[0], keys[0].length * 2);
+        }
+        keys[0][count[0]++] = board.key();
+        if ((lastMove >= 0 && board.completesLine(lastMove, Board.opponent(player))) || board.isFull()) {
+            return;
+        }
+        int power = 1;
+        for (int cell = 0; cell < board.cellCount(); cell++, power *= 3) {
+            if (board.isEmpty(cell)) {
+                board.place(cell, player);
+                walkFourByFour(board, Board.opponent(player), index + power * player, cell, visited, keys, count);
+                board.undo(cell);
+            }
+        }
+    }
+
+    @Test
+    public void sampledLargeGridKeysAreExactAndDistinct() {
+        GridBoard board = new GridBoard(GridBoard.MAX_SIZE, 5);
+        Random random = new Random(19);
+        Sample sample = new Sample();
+        int[] empty = new int[board.cellCount()];
+        while (sample.size() < SAMPLED_POSITIONS) {
+            board.clear();
+            int player = Board.PLAYER_ONE;
+            while (board.winner() == Board.EMPTY && !board.isFull() && sample.size() < SAMPLED_POSITIONS) {
+                int count = 0;
+                for (int cell = 0; cell < board.cellCount(); cell++) {
+                    if (board.isEmpty(cell)) empty[count++] = cell;
+                }
+                board.place(empty[random.nextInt(count)], player);
+                player = Board.opponent(player);
+                expectKey("19x19", board.key(), scratchKey(board));
+                long fingerprint = 0;
+                for (int cell = 0; cell < board.cellCount(); cell++) {
+                    fingerprint = fingerprint * 31 + board.get(cell);
+                }
+                sample.add(board.key(), fingerprint);
+            }
+        }
+        sample.report("19x19 (sampled)");
+    }
+
+    @Test
+    public void sampledQubicKeysAreExactAndDistinct() {
+        QubicBoard board = new QubicBoard();
+        Random random = new Random(64);
+        Sample sample = new Sample();
+        while (sample.size() < SAMPLED_POSITIONS) {
+            board.clear();
+            int player = Board.PLAYER_ONE;
+            while (board.winner() == Board.EMPTY && !board.isFull() && sample.size() < SAMPLED_POSITIONS) {
+                long empty = board.emptyMask();
+                for (int skip = random.nextInt(Long.bitCount(empty)); skip > 0; skip--) {
+                    empty &= empty - 1;
+                }
+                board.place(Long.numberOfTrailingZeros(empty), player);
+                player = Board.opponent(player);
+                long scratch = 0;
+                for (int cell = 0; cell < QubicBoard.CELLS; cell++) {
+                    scratch ^= Zobrist.cell(board.get(cell), cell);
+                }
+                expectKey("Qubic", board.key(), scratch);
+                sample.add(board.key(), board.mask(Board.PLAYER_ONE) * 0x9E3779B97F4A7C15L ^ board.mask(Board.PLAYER_TWO));
+            }
+        }
+        sample.report("Qubic (sampled)");
+    }
+
+    @Test
+    public void sampledUltimateKeysAreExactAndDistinct() {
+        UltimateBoard board = new UltimateBoard();
+        Random random = new Random(81);
+        Sample sample = new Sample();
+        int[] moves = new int[UltimateBoard.CELLS];
+        while (sample.size() < SAMPLED_POSITIONS) {
+            board.clear();
+            while (!board.isOver() && sample.size() < SAMPLED_POSITIONS) {
+                board.place(moves[random.nextInt(board.legalMoves(moves))]);
+                long scratch = Zobrist.nextBoard(board.nextBoard());
+                long fingerprint = board.nextBoard();
+                for (int cell = 0; cell < UltimateBoard.CELLS; cell++) {
+                    scratch ^= Zobrist.cell(board.get(cell), cell);
+                    fingerprint = fingerprint * 31 + board.get(cell);
+                }
+                expectKey("Ultimate", board.key(), scratch);
+                sample.add(board.key(), fingerprint);
+            }
+            // Undo must restore every earlier key, including the sub-board constraint
+            while (board.moveCount() > 0) {
+                board.undo();
+            }
+            expectKey("Ultimate undo", board.key(), 0L);
+        }
+        sample.report("Ultimate (sampled)");
+    }
+
+    private static long scratchKey(GridBoard board) {
+        long key = 0;
+        for (int cell = 0; cell < board.cellCount(); cell++) {
+            key ^= Zobrist.cell(board.get(cell), cell);
+        }
+        return key;
+    }
+
+    private static void expectKey(String board, long incremental, long scratch) {
+        if (incremental != scratch) {
+            assertEquals(String.format(Locale.US, "%s: incremental key %016x, from scratch %016x",
+                    board, incremental, scratch), scratch, incremental);
+        }
+    }
+
+    private static long[] keysOf(Map<Long, ?> seen) {
+        long[] keys = new long[seen.size()];
+        int i = 0;
+        for (long key : seen.keySet()) {
+            keys[i++] = key;
+        }
+        return keys;
+    }
+
+    // Pairs of equal values among values & mask; sorts values
+    private static long pairsOfEqual(long[] values, long mask) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] &= mask;
+        }
+        Arrays.sort(values);
+        long pairs = 0;
+        for (int i = 0, run = 1; i < values.length; i++, run++) {
+            if (i + 1 == values.length || values[i + 1] != values[i]) {
+                pairs += (long) run * (run - 1) / 2;
+                run = 0;
+            }
+        }
+        return pairs;
+    }
+
+    // keys holds one key per distinct position and is overwritten; small counts get some slack
+    private static void report(String board, long positions, long collisions, long[] keys) {
+        double expected = (double) keys.length * (keys.length - 1) / 2 / 4294967296.0;
+        long lowCollisions = pairsOfEqual(keys, 0xFFFFFFFFL);
+        assertEquals(board + ": 64-bit collisions among " + positions + " positions", 0, collisions);
+        assertTrue(String.format(Locale.US, "%s: %,d 32-bit collisions, expected %,.1f",
+                board, lowCollisions, expected), lowCollisions <= 2 * expected + 10);
+    }
+
+    // Distinct sampled positions, told apart by an independent fingerprint
+    private static final class Sample {
+        private final Map<Long, Long> fingerprints = new HashMap<>();
+        private long collisions;
+
+        void add(long key, long fingerprint) {
+            Long previous = fingerprints.put(key, fingerprint);
+            if (previous != null && previous != fingerprint) {
+                collisions++;
+            }
+        }
+
+        int size() {
+            return fingerprints.size();
+        }
+
+        void report(String board) {
+            ZobristTest.report(board, size(), collisions, keysOf(fingerprints));
+        }
+    }
+}